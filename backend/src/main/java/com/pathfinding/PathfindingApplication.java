@@ -1,7 +1,10 @@
 package com.pathfinding;
 
+import com.pathfinding.service.GridIndexService;
+import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
 
 /**
  * Main Spring Boot application class for the Pathfinding Visualizer backend.
@@ -20,4 +23,16 @@ public class PathfindingApplication {
         System.out.println("🚀 Pathfinding Visualizer Backend is running!");
         System.out.println("📡 API available at: http://localhost:8080/api/pathfind");
     }
+
+    /**
+     * Map persisted grid index snapshots back in at startup so the first
+     * queries after a restart do not pay for rebuilding them.
+     */
+    @Bean
+    public CommandLineRunner warmGridIndexSnapshots(GridIndexService gridIndexService) {
+        return args -> {
+            int mapped = gridIndexService.warmUp();
+            System.out.println("🗂️ Mapped " + mapped + " grid index snapshot(s)");
+        };
+    }
 }
@@ -0,0 +1,160 @@
+package com.pathfinding.controller;
+
+import com.pathfinding.dto.*;
+import com.pathfinding.service.ShardCoordinatorService;
+import com.pathfinding.service.ShardMetrics;
+import com.pathfinding.service.ShardWorkerService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * REST Controller for tile-sharded pathfinding.
+ *
+ * Every instance exposes both sides of sharded mode: the coordinator
+ * endpoints that register a grid as a world of tiles and search it, and the
+ * owner endpoints that keep tiles resident and answer per-tile queries from
+ * a coordinator. Owner queries for a tile that is not resident return 404.
+ */
+@RestController
+@RequestMapping("/api/shard")
+@CrossOrigin(origins = "*") // Allow requests from frontend
+public class ShardController {
+
+    @Autowired
+    private ShardCoordinatorService shardCoordinatorService;
+
+    @Autowired
+    private ShardWorkerService shardWorkerService;
+
+    @Autowired
+    private ShardMetrics shardMetrics;
+
+    /**
+     * Execute a sharded shortest-path search on the provided grid,
+     * registering it as a world first if it is not already.
+     *
+     * @param request Contains grid data and start/end points
+     * @return PathfindingResponse with settled border cells and the stitched path
+     */
+    @PostMapping("/pathfind")
+    public ResponseEntity<PathfindingResponse> findPath(@RequestBody PathfindingRequest request) {
+        try {
+            if (request.getGrid() == null || request.getStart() == null || request.getEnd() == null) {
+                return ResponseEntity.badRequest()
+                    .body(new PathfindingResponse(null, null, false, "Missing required fields"));
+            }
+
+            return ResponseEntity.ok(shardCoordinatorService.findPath(request));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(new PathfindingResponse(null, null, false, "Sharded execution failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Register a grid for sharded queries; its tiles are handed to their owners.
+     *
+     * @param request Contains the grid; start/end points are ignored
+     * @return the world id to query with
+     */
+    @PostMapping("/worlds")
+    public ResponseEntity<ShardWorldResponse> registerWorld(@RequestBody PathfindingRequest request) {
+        if (request.getGrid() == null || request.getGrid().length == 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(shardCoordinatorService.register(request.getGrid()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * Execute a sharded shortest-path search on a registered grid.
+     *
+     * @param request Contains start/end points; the grid is not needed
+     * @return PathfindingResponse, or 404 if the world has to be registered again
+     */
+    @PostMapping("/worlds/{worldId}/pathfind")
+    public ResponseEntity<PathfindingResponse> findPathInWorld(@PathVariable String worldId,
+                                                               @RequestBody PathfindingRequest request) {
+        try {
+            if (request.getStart() == null || request.getEnd() == null) {
+                return ResponseEntity.badRequest()
+                    .body(new PathfindingResponse(null, null, false, "Missing required fields"));
+            }
+
+            return shardCoordinatorService.findPath(worldId, request.getStart(), request.getEnd())
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(404)
+                    .body(new PathfindingResponse(null, null, false, "Unknown world " + worldId + ", register the grid again")));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(new PathfindingResponse(null, null, false, "Sharded execution failed: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Owner endpoint: keep a tile resident for later queries.
+     */
+    @PostMapping("/tiles")
+    public ResponseEntity<Void> storeTile(@RequestBody ShardTileUpload upload) {
+        if (upload.getWorldId() == null || upload.getWalls() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            shardWorkerService.storeTile(upload);
+            return ResponseEntity.ok().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Owner endpoint: in-tile distances between the requested cells.
+     */
+    @PostMapping("/tile")
+    public ResponseEntity<ShardTileResponse> tileDistances(@RequestBody ShardTileRequest request) {
+        if (request.getWorldId() == null || request.getSources() == null || request.getTargets() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(shardWorkerService.computeTileDistances(request));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Owner endpoint: path through one visit's waypoints in a tile.
+     */
+    @PostMapping("/segment")
+    public ResponseEntity<PathfindingResponse> segment(@RequestBody ShardSegmentRequest request) {
+        List<Coordinate> waypoints = request.getWaypoints();
+        if (request.getWorldId() == null || waypoints == null || waypoints.isEmpty()) {
+            return ResponseEntity.badRequest()
+                .body(new PathfindingResponse(null, null, false, "Missing required fields"));
+        }
+        try {
+            return ResponseEntity.ok(shardWorkerService.findSegment(request));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(404)
+                .body(new PathfindingResponse(null, null, false, e.getMessage()));
+        }
+    }
+
+    /**
+     * Per-shard latency and fan-out counters for this coordinator.
+     */
+    @GetMapping("/metrics")
+    public ResponseEntity<Map<String, Object>> metrics() {
+        return ResponseEntity.ok(shardMetrics.snapshot());
+    }
+}
@@ -0,0 +1,60 @@
+package com.pathfinding.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a segment query sent to a shard owner.
+ * 
+ * Covers one visit of the route to a resident tile:
+ * - World id and tile id of the resident tile
+ * - Tile-local waypoints the path must pass through, in order
+ */
+public class ShardSegmentRequest {
+    private String worldId;
+    private int tileId;
+    private List<Coordinate> waypoints;
+
+    // Default constructor
+    public ShardSegmentRequest() {}
+
+    // Constructor with all fields
+    public ShardSegmentRequest(String worldId, int tileId, List<Coordinate> waypoints) {
+        this.worldId = worldId;
+        this.tileId = tileId;
+        this.waypoints = waypoints;
+    }
+
+    // Getters and Setters
+    public String getWorldId() {
+        return worldId;
+    }
+
+    public void setWorldId(String worldId) {
+        this.worldId = worldId;
+    }
+
+    public int getTileId() {
+        return tileId;
+    }
+
+    public void setTileId(int tileId) {
+        this.tileId = tileId;
+    }
+
+    public List<Coordinate> getWaypoints() {
+        return waypoints;
+    }
+
+    public void setWaypoints(List<Coordinate> waypoints) {
+        this.waypoints = waypoints;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardSegmentRequest{" +
+                "worldId='" + worldId + '\'' +
+                ", tileId=" + tileId +
+                ", waypoints=" + waypoints +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+package com.pathfinding.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for a tile distance query sent to a shard owner.
+ * 
+ * Refers to a tile the owner already holds and the tile-local cells to measure between:
+ * - World id and tile id of the resident tile
+ * - Source cells (rows of the distance matrix)
+ * - Target cells (columns of the distance matrix)
+ */
+public class ShardTileRequest {
+    private String worldId;
+    private int tileId;
+    private List<Coordinate> sources;
+    private List<Coordinate> targets;
+
+    // Default constructor
+    public ShardTileRequest() {}
+
+    // Constructor with all fields
+    public ShardTileRequest(String worldId, int tileId, List<Coordinate> sources, List<Coordinate> targets) {
+        this.worldId = worldId;
+        this.tileId = tileId;
+        this.sources = sources;
+        this.targets = targets;
+    }
+
+    // Getters and Setters
+    public String getWorldId() {
+        return worldId;
+    }
+
+    public void setWorldId(String worldId) {
+        this.worldId = worldId;
+    }
+
+    public int getTileId() {
+        return tileId;
+    }
+
+    public void setTileId(int tileId) {
+        this.tileId = tileId;
+    }
+
+    public List<Coordinate> getSources() {
+        return sources;
+    }
+
+    public void setSources(List<Coordinate> sources) {
+        this.sources = sources;
+    }
+
+    public List<Coordinate> getTargets() {
+        return targets;
+    }
+
+    public void setTargets(List<Coordinate> targets) {
+        this.targets = targets;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardTileRequest{" +
+                "worldId='" + worldId + '\'' +
+                ", tileId=" + tileId +
+                ", sources=" + (sources != null ? sources.size() : 0) +
+                ", targets=" + (targets != null ? targets.size() : 0) +
+                '}';
+    }
+}
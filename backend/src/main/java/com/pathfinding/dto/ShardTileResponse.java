@@ -0,0 +1,35 @@
+package com.pathfinding.dto;
+
+/**
+ * Data Transfer Object for a shard owner's tile distance answer.
+ * 
+ * Holds the shortest in-tile distance from each source to each target,
+ * with -1 marking pairs that cannot reach each other inside the tile.
+ */
+public class ShardTileResponse {
+    private int[][] distances;
+
+    // Default constructor
+    public ShardTileResponse() {}
+
+    // Constructor with all fields
+    public ShardTileResponse(int[][] distances) {
+        this.distances = distances;
+    }
+
+    // Getters and Setters
+    public int[][] getDistances() {
+        return distances;
+    }
+
+    public void setDistances(int[][] distances) {
+        this.distances = distances;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardTileResponse{" +
+                "size=" + (distances != null ? distances.length + "x" + (distances.length > 0 ? distances[0].length : 0) : "null") +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+package com.pathfinding.dto;
+
+/**
+ * Data Transfer Object for a tile handed to its shard owner to keep resident.
+ * 
+ * Contains the tile's identity and layout:
+ * - World id and tile id the owner stores the tile under
+ * - Tile dimensions
+ * - Row-major wall bitmap, one bit per cell
+ */
+public class ShardTileUpload {
+    private String worldId;
+    private int tileId;
+    private int rows;
+    private int cols;
+    private long[] walls;
+
+    // Default constructor
+    public ShardTileUpload() {}
+
+    // Constructor with all fields
+    public ShardTileUpload(String worldId, int tileId, int rows, int cols, long[] walls) {
+        this.worldId = worldId;
+        this.tileId = tileId;
+        this.rows = rows;
+        this.cols = cols;
+        this.walls = walls;
+    }
+
+    // Getters and Setters
+    public String getWorldId() {
+        return worldId;
+    }
+
+    public void setWorldId(String worldId) {
+        this.worldId = worldId;
+    }
+
+    public int getTileId() {
+        return tileId;
+    }
+
+    public void setTileId(int tileId) {
+        this.tileId = tileId;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public void setCols(int cols) {
+        this.cols = cols;
+    }
+
+    public long[] getWalls() {
+        return walls;
+    }
+
+    public void setWalls(long[] walls) {
+        this.walls = walls;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardTileUpload{" +
+                "worldId='" + worldId + '\'' +
+                ", tileId=" + tileId +
+                ", size=" + rows + "x" + cols +
+                '}';
+    }
+}
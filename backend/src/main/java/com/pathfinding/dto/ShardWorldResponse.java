@@ -0,0 +1,80 @@
+package com.pathfinding.dto;
+
+/**
+ * Data Transfer Object for a grid registered for sharded pathfinding.
+ * 
+ * Contains the id later queries refer to and the tiling:
+ * - World id derived from the grid's wall layout
+ * - Grid dimensions
+ * - Tile size and number of tiles handed to owners
+ */
+public class ShardWorldResponse {
+    private String worldId;
+    private int rows;
+    private int cols;
+    private int tileSize;
+    private int tiles;
+
+    // Default constructor
+    public ShardWorldResponse() {}
+
+    // Constructor with all fields
+    public ShardWorldResponse(String worldId, int rows, int cols, int tileSize, int tiles) {
+        this.worldId = worldId;
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+        this.tiles = tiles;
+    }
+
+    // Getters and Setters
+    public String getWorldId() {
+        return worldId;
+    }
+
+    public void setWorldId(String worldId) {
+        this.worldId = worldId;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public void setRows(int rows) {
+        this.rows = rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public void setCols(int cols) {
+        this.cols = cols;
+    }
+
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    public void setTileSize(int tileSize) {
+        this.tileSize = tileSize;
+    }
+
+    public int getTiles() {
+        return tiles;
+    }
+
+    public void setTiles(int tiles) {
+        this.tiles = tiles;
+    }
+
+    @Override
+    public String toString() {
+        return "ShardWorldResponse{" +
+                "worldId='" + worldId + '\'' +
+                ", size=" + rows + "x" + cols +
+                ", tileSize=" + tileSize +
+                ", tiles=" + tiles +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package com.pathfinding.loadtest;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects GC events of this JVM while a load test is measuring.
+ *
+ * Durations come from the collectors' notifications; for concurrent collectors
+ * they cover whole cycles rather than just stop-the-world pauses. When the
+ * load test targets another process, these figures describe the load
+ * generator's own JVM.
+ */
+public class GcPauseMonitor implements NotificationListener {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMs = new LongAdder();
+    private final AtomicLong maxMs = new AtomicLong();
+    private volatile boolean recording;
+
+    public GcPauseMonitor() {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(this, null, null);
+            }
+        }
+    }
+
+    public void start() {
+        recording = true;
+    }
+
+    public void stop() {
+        recording = false;
+    }
+
+    /**
+     * Detach from the collectors once the load test is done.
+     */
+    public void close() {
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (bean instanceof NotificationEmitter emitter) {
+                try {
+                    emitter.removeNotificationListener(this);
+                } catch (Exception ignored) {
+                    // Listener was never registered on this bean
+                }
+            }
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        if (!recording || !GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        long duration = info.getGcInfo().getDuration();
+        count.increment();
+        totalMs.add(duration);
+        maxMs.accumulateAndGet(duration, Math::max);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalMs() {
+        return totalMs.sum();
+    }
+
+    public long getMaxMs() {
+        return maxMs.get();
+    }
+}
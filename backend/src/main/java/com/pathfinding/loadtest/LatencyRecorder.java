@@ -0,0 +1,71 @@
+package com.pathfinding.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe recorder of request latencies and errors for one workload class.
+ *
+ * Latencies go into a preallocated array so recording never allocates while
+ * the load is running; percentiles are computed once at the end by sorting.
+ * Slots are written with volatile semantics, so a reader that has waited for
+ * all recorders to finish sees every sample.
+ */
+public class LatencyRecorder {
+
+    private final AtomicLongArray latencies;
+    private final AtomicInteger count = new AtomicInteger();
+    private final LongAdder errors = new LongAdder();
+
+    public LatencyRecorder(int capacity) {
+        this.latencies = new AtomicLongArray(capacity);
+    }
+
+    public void recordSuccess(long latencyNanos) {
+        int slot = count.getAndIncrement();
+        if (slot < latencies.length()) {
+            latencies.set(slot, latencyNanos);
+        }
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    public int getSuccessCount() {
+        return Math.min(count.get(), latencies.length());
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    /**
+     * Error rate across all recorded requests, between 0 and 1.
+     */
+    public double getErrorRate() {
+        long total = getSuccessCount() + getErrorCount();
+        return total == 0 ? 0.0 : (double) getErrorCount() / total;
+    }
+
+    /**
+     * Latency percentiles in milliseconds, in the same order as the requested fractions.
+     */
+    public double[] percentilesMs(double... fractions) {
+        long[] sorted = new long[getSuccessCount()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = latencies.get(i);
+        }
+        Arrays.sort(sorted);
+
+        double[] result = new double[fractions.length];
+        for (int i = 0; i < fractions.length; i++) {
+            if (sorted.length == 0) continue;
+            int rank = (int) Math.ceil(fractions[i] * sorted.length) - 1;
+            result[i] = sorted[Math.max(0, Math.min(rank, sorted.length - 1))] / 1_000_000.0;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,316 @@
+package com.pathfinding.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pathfinding.loadtest.WorkloadGenerator.WorkloadItem;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load-test harness for the pathfinding API, enabled by the "loadtest" profile.
+ *
+ * Sends the workload mix at a fixed target rate (open loop) against either
+ * this instance's own web server (in-process) or the URL in loadtest.target,
+ * then prints throughput, latency percentiles, error rate and GC activity and
+ * exits. Latency is measured from each request's scheduled send time, so a
+ * stalled server is not hidden by the generator slowing down with it.
+ *
+ * In-process, the reported GC activity covers the server and the load
+ * generator together, since they share this JVM; against loadtest.target it
+ * is the load generator's own client GC. The report labels which one it is.
+ *
+ * With loadtest.unique-grids every request gets a freshly generated grid, so
+ * the server's grid index cache never helps; requests are generated by a
+ * background thread a little ahead of their send time.
+ *
+ * The process exits with status 1 when loadtest.max-p99-ms or
+ * loadtest.max-error-rate are exceeded, so the run can gate a release.
+ */
+@Component
+@Profile("loadtest")
+public class LoadTestRunner implements CommandLineRunner {
+
+    private static final double[] PERCENTILES = {0.50, 0.99, 0.999};
+
+    // Unique-grid requests generated ahead of time, at most this many seconds' worth
+    private static final int PREFETCH_SECONDS = 1;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${loadtest.target:}")
+    private String target;
+
+    @Value("${loadtest.path:/api/pathfind}")
+    private String path;
+
+    @Value("${loadtest.rate:50}")
+    private int rate;
+
+    @Value("${loadtest.duration-seconds:30}")
+    private int durationSeconds;
+
+    @Value("${loadtest.warmup-seconds:5}")
+    private int warmupSeconds;
+
+    @Value("${loadtest.max-in-flight:64}")
+    private int maxInFlight;
+
+    @Value("${loadtest.timeout-ms:10000}")
+    private int timeoutMs;
+
+    @Value("${loadtest.sizes:20x50,50x50,100x100}")
+    private List<String> sizes;
+
+    @Value("${loadtest.densities:0.1,0.3}")
+    private List<Double> densities;
+
+    @Value("${loadtest.algorithms:bfs,dfs,dijkstra,astar}")
+    private List<String> algorithms;
+
+    @Value("${loadtest.variants:4}")
+    private int variants;
+
+    @Value("${loadtest.seed:42}")
+    private long seed;
+
+    @Value("${loadtest.replay-file:}")
+    private String replayFile;
+
+    @Value("${loadtest.unique-grids:false}")
+    private boolean uniqueGrids;
+
+    @Value("${loadtest.max-p99-ms:0}")
+    private double maxP99Ms;
+
+    @Value("${loadtest.max-error-rate:1.0}")
+    private double maxErrorRate;
+
+    @Override
+    public void run(String... args) throws Exception {
+        if (uniqueGrids && !replayFile.isEmpty()) {
+            throw new IllegalArgumentException("loadtest.unique-grids cannot be combined with loadtest.replay-file");
+        }
+
+        WorkloadGenerator generator = new WorkloadGenerator(objectMapper);
+        List<WorkloadItem> items = uniqueGrids ? null : replayFile.isEmpty()
+                ? generator.generate(sizes, densities, algorithms, variants, seed)
+                : generator.replay(Paths.get(replayFile));
+        List<String> cycleLabels = uniqueGrids
+                ? generator.uniqueLabels(sizes, densities, algorithms)
+                : items.stream().map(WorkloadItem::getLabel).toList();
+
+        URI uri = URI.create(resolveBaseUrl() + path);
+        int warmupCount = rate * warmupSeconds;
+        int measuredCount = rate * durationSeconds;
+        int total = warmupCount + measuredCount;
+        if (measuredCount <= 0) {
+            throw new IllegalArgumentException("loadtest.rate and loadtest.duration-seconds must be positive");
+        }
+
+        // Size each recorder exactly: request i always belongs to class i % cycleLabels.size()
+        Map<String, Integer> classCounts = new HashMap<>();
+        for (int i = warmupCount; i < total; i++) {
+            classCounts.merge(cycleLabels.get(i % cycleLabels.size()), 1, Integer::sum);
+        }
+        LatencyRecorder overall = new LatencyRecorder(measuredCount);
+        Map<String, LatencyRecorder> byClass = new TreeMap<>();
+        classCounts.forEach((label, count) -> byClass.put(label, new LatencyRecorder(count)));
+
+        System.out.println("🏋️ Load test: " + describeWorkload(items, total) + ", " + rate + " req/s for " +
+                durationSeconds + "s (+" + warmupSeconds + "s warmup) against " + uri);
+
+        BlockingQueue<WorkloadItem> uniqueItems = null;
+        if (uniqueGrids) {
+            uniqueItems = new ArrayBlockingQueue<>(Math.min(total, Math.max(1, rate * PREFETCH_SECONDS)));
+            Thread producer = startUniqueGridProducer(generator, uniqueItems, total);
+            // Fill the buffer before the schedule starts
+            while (uniqueItems.remainingCapacity() > 0 && producer.isAlive()) {
+                Thread.sleep(10);
+            }
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(timeoutMs))
+                .build();
+        GcPauseMonitor gcMonitor = new GcPauseMonitor();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long intervalNanos = 1_000_000_000L / rate;
+        long startTime = System.nanoTime();
+        long measureStart = startTime + warmupCount * intervalNanos;
+        long maxDispatchLagNanos = 0;
+
+        for (int i = 0; i < total; i++) {
+            long intended = startTime + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (i == warmupCount) {
+                gcMonitor.start();
+            }
+
+            inFlight.acquire();
+            maxDispatchLagNanos = Math.max(maxDispatchLagNanos, System.nanoTime() - intended);
+
+            WorkloadItem item = uniqueItems == null ? items.get(i % items.size()) : nextUniqueItem(uniqueItems);
+            boolean measured = i >= warmupCount;
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .timeout(Duration.ofMillis(timeoutMs))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(item.getBody()))
+                    .build();
+
+            client.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - intended;
+                try {
+                    if (!measured) return;
+
+                    LatencyRecorder classRecorder = byClass.get(item.getLabel());
+                    if (error != null || response.statusCode() >= 400) {
+                        overall.recordError();
+                        classRecorder.recordError();
+                    } else {
+                        overall.recordSuccess(latency);
+                        classRecorder.recordSuccess(latency);
+                    }
+                } finally {
+                    // Release only after recording, so the final acquire below sees every result
+                    inFlight.release();
+                }
+            });
+        }
+
+        // Wait for every outstanding request to finish
+        inFlight.acquire(maxInFlight);
+        long measureEnd = System.nanoTime();
+        gcMonitor.stop();
+        gcMonitor.close();
+
+        int exitCode = report(overall, byClass, gcMonitor, !target.isEmpty(), describeWorkload(items, total),
+                measureEnd - measureStart, maxDispatchLagNanos);
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    /**
+     * Generate the unique-grid workload on a background thread, in request order.
+     */
+    private Thread startUniqueGridProducer(WorkloadGenerator generator, BlockingQueue<WorkloadItem> queue, int total) {
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < total; i++) {
+                    queue.put(generator.unique(sizes, densities, algorithms, seed, i));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                System.out.println("❌ Workload generation failed: " + e.getMessage());
+            }
+        }, "loadtest-workload");
+        producer.setDaemon(true);
+        producer.start();
+        return producer;
+    }
+
+    private WorkloadItem nextUniqueItem(BlockingQueue<WorkloadItem> queue) throws InterruptedException {
+        WorkloadItem item = queue.poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (item == null) {
+            throw new IllegalStateException("Unique-grid workload generation stalled for " + timeoutMs + " ms");
+        }
+        return item;
+    }
+
+    private String describeWorkload(List<WorkloadItem> items, int total) {
+        if (uniqueGrids) {
+            return "unique grids on (" + total + " requests, each with a new grid)";
+        }
+        return "unique grids off (" + items.size() + " request variants cycled, so repeats hit the index cache)";
+    }
+
+    /**
+     * Use loadtest.target if set, otherwise this instance's own web server.
+     */
+    private String resolveBaseUrl() {
+        if (!target.isEmpty()) {
+            return target.endsWith("/") ? target.substring(0, target.length() - 1) : target;
+        }
+
+        String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            throw new IllegalStateException("No loadtest.target set and no local web server is running");
+        }
+        return "http://localhost:" + port;
+    }
+
+    /**
+     * Print the results and check them against the configured release gates.
+     *
+     * @return process exit code, 0 if every gate passed
+     */
+    private int report(LatencyRecorder overall, Map<String, LatencyRecorder> byClass, GcPauseMonitor gcMonitor,
+                       boolean remoteTarget, String workload, long elapsedNanos, long maxDispatchLagNanos) {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        long completed = overall.getSuccessCount() + overall.getErrorCount();
+        double[] percentiles = overall.percentilesMs(PERCENTILES);
+
+        System.out.println("📊 Load test results");
+        System.out.println("  Workload:     " + workload);
+        System.out.printf("  Throughput:   %.1f req/s (target %d req/s, %d requests in %.1fs)%n",
+                completed / elapsedSeconds, rate, completed, elapsedSeconds);
+        System.out.printf("  Latency:      p50 %.2f ms, p99 %.2f ms, p999 %.2f ms%n",
+                percentiles[0], percentiles[1], percentiles[2]);
+        System.out.printf("  Errors:       %d (%.3f%%)%n", overall.getErrorCount(), overall.getErrorRate() * 100);
+        // This JVM's GC: the generator alone against a remote target, generator plus server in-process
+        System.out.printf("  GC:           %d collections, %d ms total, %d ms max (%s)%n",
+                gcMonitor.getCount(), gcMonitor.getTotalMs(), gcMonitor.getMaxMs(),
+                remoteTarget ? "load generator only, not the server" : "server and load generator, shared JVM");
+        System.out.printf("  Dispatch lag: %.2f ms max%n", maxDispatchLagNanos / 1_000_000.0);
+
+        System.out.println("  Per workload class:");
+        byClass.forEach((label, recorder) -> {
+            double[] p = recorder.percentilesMs(PERCENTILES);
+            System.out.printf("    %-28s n=%-6d err=%-4d p50 %8.2f ms  p99 %8.2f ms  p999 %8.2f ms%n",
+                    label, recorder.getSuccessCount(), recorder.getErrorCount(), p[0], p[1], p[2]);
+        });
+
+        int exitCode = 0;
+        if (maxP99Ms > 0 && percentiles[1] > maxP99Ms) {
+            System.out.printf("❌ p99 %.2f ms exceeds limit of %.2f ms%n", percentiles[1], maxP99Ms);
+            exitCode = 1;
+        }
+        if (overall.getErrorRate() > maxErrorRate) {
+            System.out.printf("❌ Error rate %.3f exceeds limit of %.3f%n", overall.getErrorRate(), maxErrorRate);
+            exitCode = 1;
+        }
+        if (exitCode == 0) {
+            System.out.println("✅ Load test passed");
+        }
+        return exitCode;
+    }
+}
@@ -0,0 +1,180 @@
+package com.pathfinding.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pathfinding.dto.Coordinate;
+import com.pathfinding.dto.PathfindingRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Builds the request mix a load test replays.
+ *
+ * Requests are either generated from every combination of grid size, wall
+ * density and algorithm (with a fixed seed, so runs are reproducible) or
+ * replayed from a file of JSON request bodies, one per line. Bodies are
+ * serialized up front so the load generator only pays for sending them.
+ *
+ * A generated mix is a small set of grids that a run cycles through, so after
+ * the first pass the server answers from its grid index cache. To measure
+ * the cost of grids the server has never seen, {@link #unique} instead
+ * derives a fresh grid for every request.
+ */
+public class WorkloadGenerator {
+
+    private final ObjectMapper objectMapper;
+
+    public WorkloadGenerator(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Generate random grids for every size/density/algorithm combination.
+     *
+     * @param sizes       grid sizes as "ROWSxCOLS"
+     * @param densities   wall densities between 0 and 1
+     * @param algorithms  algorithm names accepted by /api/pathfind
+     * @param variants    number of distinct grids per combination
+     * @param seed        random seed
+     */
+    public List<WorkloadItem> generate(List<String> sizes, List<Double> densities, List<String> algorithms,
+                                       int variants, long seed) throws IOException {
+        Random random = new Random(seed);
+        List<WorkloadItem> items = new ArrayList<>();
+
+        for (String size : sizes) {
+            int[] dimensions = parseSize(size);
+            int rows = dimensions[0];
+            int cols = dimensions[1];
+
+            for (double density : densities) {
+                for (int v = 0; v < variants; v++) {
+                    PathfindingRequest grid = randomGrid(random, rows, cols, density);
+                    for (String algorithm : algorithms) {
+                        PathfindingRequest request = new PathfindingRequest(grid.getGrid(), grid.getStart(),
+                                grid.getEnd(), algorithm.trim());
+                        items.add(new WorkloadItem(label(algorithm, rows, cols, density),
+                                objectMapper.writeValueAsString(request)));
+                    }
+                }
+            }
+        }
+
+        Collections.shuffle(items, random);
+        return items;
+    }
+
+    /**
+     * Workload classes of {@link #unique}, in the order its requests cycle through them.
+     */
+    public List<String> uniqueLabels(List<String> sizes, List<Double> densities, List<String> algorithms) {
+        List<String> labels = new ArrayList<>();
+        for (String size : sizes) {
+            int[] dimensions = parseSize(size);
+            for (double density : densities) {
+                for (String algorithm : algorithms) {
+                    labels.add(label(algorithm, dimensions[0], dimensions[1], density));
+                }
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Generate request number {@code index} of a workload in which every
+     * request has its own random grid, so the server never sees a grid twice.
+     *
+     * Request i belongs to class i % classes of {@link #uniqueLabels} and is
+     * derived from the seed and i alone, so the workload is reproducible and
+     * can be generated on the fly instead of held in memory.
+     */
+    public WorkloadItem unique(List<String> sizes, List<Double> densities, List<String> algorithms,
+                               long seed, int index) throws IOException {
+        int combination = index % (sizes.size() * densities.size() * algorithms.size());
+        String algorithm = algorithms.get(combination % algorithms.size());
+        double density = densities.get((combination / algorithms.size()) % densities.size());
+        int[] dimensions = parseSize(sizes.get(combination / (algorithms.size() * densities.size())));
+
+        Random random = new Random(seed * 1_000_003L + index);
+        PathfindingRequest grid = randomGrid(random, dimensions[0], dimensions[1], density);
+        PathfindingRequest request = new PathfindingRequest(grid.getGrid(), grid.getStart(), grid.getEnd(),
+                algorithm.trim());
+        return new WorkloadItem(label(algorithm, dimensions[0], dimensions[1], density),
+                objectMapper.writeValueAsString(request));
+    }
+
+    /**
+     * Load recorded request bodies, one JSON PathfindingRequest per line.
+     */
+    public List<WorkloadItem> replay(Path file) throws IOException {
+        List<WorkloadItem> items = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            if (line.isBlank()) continue;
+
+            // Parse to validate the body and to label it by algorithm and size
+            PathfindingRequest request = objectMapper.readValue(line, PathfindingRequest.class);
+            String[][] grid = request.getGrid();
+            String label = request.getAlgorithm() + " " +
+                    (grid != null && grid.length > 0 ? grid.length + "x" + grid[0].length : "empty");
+            items.add(new WorkloadItem(label, line));
+        }
+
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("Replay file has no requests: " + file);
+        }
+        return items;
+    }
+
+    private static int[] parseSize(String size) {
+        String[] parts = size.trim().toLowerCase().split("x");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Grid size must look like ROWSxCOLS: " + size);
+        }
+        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    }
+
+    /**
+     * Random grid with random start and end cells; the algorithm is left unset.
+     */
+    private static PathfindingRequest randomGrid(Random random, int rows, int cols, double density) {
+        String[][] grid = new String[rows][cols];
+        for (String[] row : grid) {
+            for (int j = 0; j < cols; j++) {
+                row[j] = random.nextDouble() < density ? "wall" : "empty";
+            }
+        }
+
+        Coordinate start = new Coordinate(random.nextInt(rows), random.nextInt(cols));
+        Coordinate end = new Coordinate(random.nextInt(rows), random.nextInt(cols));
+        grid[start.getRow()][start.getCol()] = "start";
+        grid[end.getRow()][end.getCol()] = "end";
+        return new PathfindingRequest(grid, start, end, null);
+    }
+
+    private static String label(String algorithm, int rows, int cols, double density) {
+        return algorithm.trim() + " " + rows + "x" + cols + " @" + density;
+    }
+
+    /**
+     * One pre-serialized request body and the workload class it belongs to.
+     */
+    public static class WorkloadItem {
+        private final String label;
+        private final String body;
+
+        public WorkloadItem(String label, String body) {
+            this.label = label;
+            this.body = body;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public String getBody() {
+            return body;
+        }
+    }
+}
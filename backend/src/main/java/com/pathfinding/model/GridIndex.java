@@ -0,0 +1,240 @@
+package com.pathfinding.model;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Precomputed per-grid index derived from a grid's cell layout.
+ *
+ * Always stores the grid's wall bitmap, which answers passability in O(1)
+ * and identifies the exact wall layout the index was built for, so a
+ * fingerprint collision can never hand back another grid's index. It may
+ * also store a connected-component label for every cell (walls are labelled
+ * {@link #WALL}) for O(1) reachability; labels cost a flood fill, so indices
+ * for grids seen only once are kept walls-only. Both arrays are held in NIO
+ * buffers, which lets an index built in memory and one memory-mapped from a
+ * snapshot file be used interchangeably.
+ */
+public class GridIndex {
+
+    public static final int WALL = -1;
+
+    // Directions for grid movement (up, down, left, right)
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    private final long fingerprint;
+    private final int rows;
+    private final int cols;
+    private final LongBuffer walls;
+    private final IntBuffer labels;
+
+    // Constructor with all fields
+    public GridIndex(long fingerprint, int rows, int cols, LongBuffer walls, IntBuffer labels) {
+        this.fingerprint = fingerprint;
+        this.rows = rows;
+        this.cols = cols;
+        this.walls = walls;
+        this.labels = labels;
+    }
+
+    /**
+     * Build a walls-only index, without component labels.
+     */
+    public static GridIndex ofWalls(int rows, int cols, long[] walls) {
+        return new GridIndex(fingerprint(rows, cols, walls), rows, cols, LongBuffer.wrap(walls), null);
+    }
+
+    /**
+     * Build the full index for a grid.
+     */
+    public static GridIndex build(String[][] grid) {
+        return build(grid.length, grid[0].length, wallBits(grid));
+    }
+
+    /**
+     * Build the index from a wall bitmap by flood-filling each open region.
+     */
+    public static GridIndex build(int rows, int cols, long[] walls) {
+        int cells = rows * cols;
+        int[] labels = new int[cells];
+        int[] queue = new int[cells];
+        int nextLabel = 0;
+
+        for (int cell = 0; cell < cells; cell++) {
+            labels[cell] = isWall(walls, cell) ? WALL : Integer.MIN_VALUE;
+        }
+
+        for (int cell = 0; cell < cells; cell++) {
+            if (labels[cell] != Integer.MIN_VALUE) continue;
+
+            int head = 0;
+            int tail = 0;
+            labels[cell] = nextLabel;
+            queue[tail++] = cell;
+            while (head < tail) {
+                int current = queue[head++];
+                int row = current / cols;
+                int col = current % cols;
+                for (int[] direction : DIRECTIONS) {
+                    int newRow = row + direction[0];
+                    int newCol = col + direction[1];
+                    if (newRow < 0 || newRow >= rows || newCol < 0 || newCol >= cols) continue;
+
+                    int neighbor = newRow * cols + newCol;
+                    if (labels[neighbor] == Integer.MIN_VALUE) {
+                        labels[neighbor] = nextLabel;
+                        queue[tail++] = neighbor;
+                    }
+                }
+            }
+            nextLabel++;
+        }
+
+        return new GridIndex(fingerprint(rows, cols, walls), rows, cols,
+                LongBuffer.wrap(walls), IntBuffer.wrap(labels));
+    }
+
+    /**
+     * Pack the grid's walls into a row-major bitmap, one bit per cell.
+     * This is the only pass over the grid's strings an index lookup needs.
+     */
+    public static long[] wallBits(String[][] grid) {
+        int cols = grid[0].length;
+        long[] bits = new long[wallWords(grid.length, cols)];
+        for (int i = 0; i < grid.length; i++) {
+            String[] row = grid[i];
+            for (int j = 0; j < cols; j++) {
+                if ("wall".equals(row[j])) {
+                    int cell = i * cols + j;
+                    bits[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Number of 64-bit words in the wall bitmap of a grid.
+     */
+    public static int wallWords(int rows, int cols) {
+        return (int) (((long) rows * cols + 63) / 64);
+    }
+
+    /**
+     * Compute a 64-bit FNV-1a fingerprint of the grid dimensions and wall bitmap.
+     * Only walls affect the derived data, so start/end markers are ignored.
+     */
+    public static long fingerprint(int rows, int cols, long[] walls) {
+        long hash = 0xcbf29ce484222325L;
+        hash = mix(hash, rows);
+        hash = mix(hash, cols);
+        for (long word : walls) {
+            hash = mix(hash, word);
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static boolean isWall(long[] walls, int cell) {
+        return (walls[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    // Getters
+    public long getFingerprint() {
+        return fingerprint;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Expose a read-only view of the wall bitmap.
+     */
+    public LongBuffer getWalls() {
+        return walls.asReadOnlyBuffer();
+    }
+
+    /**
+     * Expose a read-only view of the labels in row-major order.
+     *
+     * @return the labels, or null for a walls-only index
+     */
+    public IntBuffer getLabels() {
+        return labels != null ? labels.asReadOnlyBuffer() : null;
+    }
+
+    public boolean hasLabels() {
+        return labels != null;
+    }
+
+    /**
+     * Return this index if it has component labels, otherwise a new full index
+     * built from the same wall bitmap.
+     */
+    public GridIndex withLabels() {
+        if (hasLabels()) {
+            return this;
+        }
+        long[] bits = new long[walls.limit()];
+        walls.duplicate().rewind().get(bits);
+        return build(rows, cols, bits);
+    }
+
+    /**
+     * Check if this index was built for exactly this wall layout.
+     */
+    public boolean matches(int rows, int cols, long[] walls) {
+        return this.rows == rows && this.cols == cols
+                && this.walls.duplicate().rewind().mismatch(LongBuffer.wrap(walls)) == -1;
+    }
+
+    /**
+     * Component label of a cell; requires a full index.
+     */
+    public int componentOf(int row, int col) {
+        if (labels == null) {
+            throw new IllegalStateException("Index for " + this + " has no component labels");
+        }
+        return labels.get(row * cols + col);
+    }
+
+    /**
+     * Check if a cell is inside the grid and not a wall.
+     */
+    public boolean isPassable(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return false;
+        }
+        int cell = row * cols + col;
+        return (walls.get(cell >>> 6) & (1L << cell)) == 0;
+    }
+
+    /**
+     * Check if two open cells belong to the same connected region; requires a full index.
+     */
+    public boolean isConnected(int fromRow, int fromCol, int toRow, int toCol) {
+        return isPassable(fromRow, fromCol) && isPassable(toRow, toCol)
+                && componentOf(fromRow, fromCol) == componentOf(toRow, toCol);
+    }
+
+    @Override
+    public String toString() {
+        return "GridIndex{" +
+                "fingerprint=" + Long.toHexString(fingerprint) +
+                ", size=" + rows + "x" + cols +
+                ", labels=" + hasLabels() +
+                '}';
+    }
+}
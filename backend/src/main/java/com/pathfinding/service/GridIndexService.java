@@ -0,0 +1,147 @@
+package com.pathfinding.service;
+
+import com.pathfinding.model.GridIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service that provides the precomputed {@link GridIndex} for a grid.
+ *
+ * Every lookup packs the grid's walls into a bitmap, which is all a search
+ * needs. Component labels are only attached once the same grid has been
+ * requested {@code pathfinding.snapshot.persist-after-hits} times: they are
+ * mapped from an on-disk snapshot if one exists, otherwise built and
+ * persisted in the background. Grids seen only once therefore never pay for
+ * a flood fill or touch the disk.
+ *
+ * Cache hits on persisted grids refresh their snapshot's recency at most once
+ * per {@code pathfinding.snapshot.touch-interval-ms}, so snapshot eviction and
+ * startup warm-up follow how recently a grid was actually used.
+ */
+@Service
+public class GridIndexService {
+
+    private final GridSnapshotStore snapshotStore;
+    private final Map<Long, CachedIndex> cache;
+    private final int persistAfterHits;
+    private final int warmCount;
+    private final long touchIntervalMs;
+
+    public GridIndexService(GridSnapshotStore snapshotStore,
+                            @Value("${pathfinding.index.cache-size:256}") int cacheSize,
+                            @Value("${pathfinding.snapshot.persist-after-hits:2}") int persistAfterHits,
+                            @Value("${pathfinding.snapshot.warm-count:64}") int warmCount,
+                            @Value("${pathfinding.snapshot.touch-interval-ms:300000}") long touchIntervalMs) {
+        this.snapshotStore = snapshotStore;
+        this.persistAfterHits = Math.max(1, persistAfterHits);
+        this.warmCount = Math.min(warmCount, cacheSize);
+        this.touchIntervalMs = touchIntervalMs;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedIndex> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Get the index for a grid. The result has component labels only if the
+     * grid has been requested often enough; callers that need them should use
+     * {@link GridIndex#withLabels()}.
+     */
+    public GridIndex indexFor(String[][] grid) {
+        int rows = grid.length;
+        int cols = grid[0].length;
+        long[] walls = GridIndex.wallBits(grid);
+        long fingerprint = GridIndex.fingerprint(rows, cols, walls);
+
+        // The wall bitmap comparison rules out fingerprint collisions
+        CachedIndex cached = cache.get(fingerprint);
+        if (cached == null || !cached.index.matches(rows, cols, walls)) {
+            cached = new CachedIndex(GridIndex.ofWalls(rows, cols, walls), false);
+            cache.put(fingerprint, cached);
+        } else {
+            cached.hits.incrementAndGet();
+        }
+
+        if (cached.hits.get() >= persistAfterHits && !cached.index.hasLabels()) {
+            cached = attachLabels(fingerprint, cached.index, walls);
+        } else if (cached.persisted) {
+            refreshRecency(cached);
+        }
+        return cached.index;
+    }
+
+    /**
+     * Map the most recently used snapshots into the cache. Mapping only
+     * reserves address space; the pages are faulted in lazily by the first
+     * search that reads them. Older snapshots are mapped on demand by
+     * {@link #indexFor(String[][])}.
+     *
+     * @return number of snapshots mapped
+     */
+    public int warmUp() {
+        List<Long> fingerprints = snapshotStore.recentFingerprints(warmCount);
+
+        // Insert oldest first so the newest snapshot ends up most recently used
+        int mapped = 0;
+        for (int i = fingerprints.size() - 1; i >= 0; i--) {
+            long fingerprint = fingerprints.get(i);
+            Optional<GridIndex> index = snapshotStore.load(fingerprint);
+            if (index.isPresent()) {
+                cache.put(fingerprint, new CachedIndex(index.get(), true));
+                mapped++;
+            }
+        }
+        return mapped;
+    }
+
+    /**
+     * Replace a walls-only entry with a full index, from disk if possible.
+     */
+    private CachedIndex attachLabels(long fingerprint, GridIndex wallsOnly, long[] walls) {
+        Optional<GridIndex> loaded = snapshotStore.load(fingerprint)
+                .filter(index -> index.matches(wallsOnly.getRows(), wallsOnly.getCols(), walls));
+
+        CachedIndex entry;
+        if (loaded.isPresent()) {
+            entry = new CachedIndex(loaded.get(), true);
+        } else {
+            entry = new CachedIndex(wallsOnly.withLabels(), snapshotStore.isEnabled());
+            snapshotStore.saveAsync(entry.index);
+        }
+        entry.hits.set(persistAfterHits);
+        cache.put(fingerprint, entry);
+        return entry;
+    }
+
+    /**
+     * Queue a snapshot recency refresh unless one was queued recently.
+     */
+    private void refreshRecency(CachedIndex cached) {
+        long now = System.currentTimeMillis();
+        long last = cached.lastTouchedMillis.get();
+        if (now - last >= touchIntervalMs && cached.lastTouchedMillis.compareAndSet(last, now)) {
+            snapshotStore.touchAsync(cached.index.getFingerprint());
+        }
+    }
+
+    /**
+     * Cache entry tracking how often an index was requested and whether it is on disk.
+     */
+    private static class CachedIndex {
+        private final GridIndex index;
+        private final boolean persisted;
+        private final AtomicInteger hits = new AtomicInteger(1);
+        private final AtomicLong lastTouchedMillis = new AtomicLong(System.currentTimeMillis());
+
+        CachedIndex(GridIndex index, boolean persisted) {
+            this.index = index;
+            this.persisted = persisted;
+        }
+    }
+}
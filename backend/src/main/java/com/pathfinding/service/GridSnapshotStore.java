@@ -0,0 +1,300 @@
+package com.pathfinding.service;
+
+import com.pathfinding.model.GridIndex;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes {@link GridIndex} snapshots on local disk.
+ *
+ * Each snapshot is a single file named after the grid fingerprint, holding a
+ * fixed header (magic, format version, fingerprint, rows, cols) followed by
+ * the wall bitmap and the component labels in row-major order. Snapshots are
+ * memory-mapped on load, so pages are only read from disk once a search
+ * actually touches them.
+ *
+ * Writes happen on a background thread. The directory is capped at
+ * {@code pathfinding.snapshot.max-files}; the least recently used snapshots
+ * (by modification time, refreshed on load and by {@link #touchAsync}) are
+ * deleted first.
+ *
+ * Snapshots are only useful if the directory survives restarts and deploys,
+ * so there is no temp-directory default: they are enabled by setting
+ * {@code pathfinding.snapshot.dir} to a persistent volume, and explicitly
+ * enabling them without a directory fails at startup.
+ */
+@Component
+public class GridSnapshotStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(GridSnapshotStore.class);
+
+    private static final int MAGIC = 0x47494458; // "GIDX"
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+    private static final String EXTENSION = ".gidx";
+
+    private final Path directory;
+    private final boolean enabled;
+    private final int maxFiles;
+    private final ExecutorService writer;
+
+    public GridSnapshotStore(
+            @Value("${pathfinding.snapshot.dir:}") String directory,
+            @Value("${pathfinding.snapshot.enabled:}") String enabled,
+            @Value("${pathfinding.snapshot.max-files:1000}") int maxFiles) {
+        if (maxFiles < 1) {
+            throw new IllegalArgumentException("pathfinding.snapshot.max-files must be at least 1");
+        }
+        boolean hasDirectory = !directory.isBlank();
+        if (Boolean.parseBoolean(enabled) && !hasDirectory) {
+            throw new IllegalStateException("pathfinding.snapshot.enabled=true requires pathfinding.snapshot.dir "
+                    + "to point at a directory that survives restarts and deploys");
+        }
+        this.directory = hasDirectory ? Paths.get(directory) : null;
+        this.enabled = hasDirectory && (enabled.isBlank() || Boolean.parseBoolean(enabled));
+        if (!this.enabled) {
+            logger.info("Grid index snapshots are disabled; set pathfinding.snapshot.dir to a persistent volume to enable them");
+        }
+        this.maxFiles = maxFiles;
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "grid-snapshot-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Let queued snapshot writes finish before shutting down.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * List the fingerprints of the most recently used snapshots on disk.
+     *
+     * @param limit maximum number of fingerprints to return
+     * @return fingerprints, most recently used first
+     */
+    public List<Long> recentFingerprints(int limit) {
+        List<Long> fingerprints = new ArrayList<>();
+        for (Path file : snapshotFiles(Comparator.comparing(GridSnapshotStore::lastModified).reversed())) {
+            if (fingerprints.size() >= limit) break;
+
+            String name = file.getFileName().toString();
+            try {
+                fingerprints.add(Long.parseUnsignedLong(name.substring(0, name.length() - EXTENSION.length()), 16));
+            } catch (NumberFormatException ignored) {
+                // Not one of our snapshot files
+            }
+        }
+        return fingerprints;
+    }
+
+    /**
+     * Memory-map the snapshot for a fingerprint.
+     *
+     * @return the index, or empty if there is no valid snapshot for this fingerprint
+     */
+    public Optional<GridIndex> load(long fingerprint) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Path file = snapshotPath(fingerprint);
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            int magic = buffer.getInt();
+            int version = buffer.getInt();
+            long storedFingerprint = buffer.getLong();
+            int rows = buffer.getInt();
+            int cols = buffer.getInt();
+
+            // Reject stale formats and snapshots that were written for a different grid
+            if (magic != MAGIC || version != FORMAT_VERSION || storedFingerprint != fingerprint
+                    || rows <= 0 || cols <= 0 || size != snapshotBytes(rows, cols)) {
+                return Optional.empty();
+            }
+
+            int wallBytes = 8 * GridIndex.wallWords(rows, cols);
+            LongBuffer walls = buffer.slice(HEADER_BYTES, wallBytes).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+            IntBuffer labels = buffer.slice(HEADER_BYTES + wallBytes, 4 * rows * cols)
+                    .order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+
+            touch(file);
+            return Optional.of(new GridIndex(fingerprint, rows, cols, walls, labels));
+        } catch (IOException e) {
+            logger.warn("Snapshot load failed for {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Queue a refresh of a snapshot's recency on the background writer thread,
+     * so snapshots of grids served from memory are not evicted as stale.
+     */
+    public void touchAsync(long fingerprint) {
+        if (enabled) {
+            writer.execute(() -> {
+                Path file = snapshotPath(fingerprint);
+                if (Files.isRegularFile(file)) {
+                    touch(file);
+                }
+            });
+        }
+    }
+
+    /**
+     * Queue an index to be written to disk on the background writer thread.
+     */
+    public void saveAsync(GridIndex index) {
+        if (enabled) {
+            writer.execute(() -> save(index));
+        }
+    }
+
+    /**
+     * Write an index to disk, replacing any existing snapshot atomically,
+     * then evict old snapshots beyond the file limit.
+     */
+    void save(GridIndex index) {
+        if (!index.hasLabels()) {
+            throw new IllegalArgumentException("Only indices with component labels can be persisted: " + index);
+        }
+        long size = snapshotBytes(index.getRows(), index.getCols());
+        if (size > Integer.MAX_VALUE) {
+            logger.info("Skipping snapshot for {}: {} bytes exceeds the mappable size", index, size);
+            return;
+        }
+
+        Path file = snapshotPath(index.getFingerprint());
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, "snapshot", ".tmp");
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC)
+                  .putInt(FORMAT_VERSION)
+                  .putLong(index.getFingerprint())
+                  .putInt(index.getRows())
+                  .putInt(index.getCols());
+            LongBuffer walls = index.getWalls();
+            while (walls.hasRemaining()) {
+                buffer.putLong(walls.get());
+            }
+            buffer.asIntBuffer().put(index.getLabels());
+            buffer.position(0);
+
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Snapshot save failed for {}", file, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+
+        evictOldSnapshots();
+    }
+
+    /**
+     * Delete the least recently used snapshots until at most maxFiles remain.
+     */
+    private void evictOldSnapshots() {
+        List<Path> files = snapshotFiles(Comparator.comparing(GridSnapshotStore::lastModified));
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            deleteQuietly(files.get(i));
+        }
+    }
+
+    private List<Path> snapshotFiles(Comparator<Path> order) {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(EXTENSION))
+                        .sorted(order)
+                        .toList();
+        } catch (IOException e) {
+            logger.warn("Snapshot listing failed for {}", directory, e);
+            return new ArrayList<>();
+        }
+    }
+
+    private static long snapshotBytes(int rows, int cols) {
+        return HEADER_BYTES + 8L * GridIndex.wallWords(rows, cols) + 4L * rows * cols;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Refresh a snapshot's modification time so eviction treats it as recently used.
+     */
+    private static void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            logger.debug("Could not touch snapshot {}", file, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete snapshot file {}", file, e);
+        }
+    }
+
+    private Path snapshotPath(long fingerprint) {
+        return directory.resolve(String.format("%016x", fingerprint) + EXTENSION);
+    }
+}
@@ -1,7 +1,10 @@
 package com.pathfinding.service;
 
 import com.pathfinding.dto.*;
+import com.pathfinding.model.GridIndex;
 import com.pathfinding.model.Node;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -18,6 +21,13 @@ public class PathfindingService {
     // Directions for grid movement (up, down, left, right)
     private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
 
+    @Autowired
+    private GridIndexService gridIndexService;
+
+    // When enabled, unreachable queries return no visited nodes instead of the explored region
+    @Value("${pathfinding.search.skip-unreachable:false}")
+    private boolean skipUnreachable;
+
     /**
      * Execute the specified pathfinding algorithm.
      * 
@@ -25,17 +35,29 @@ public class PathfindingService {
      * @return PathfindingResponse with results
      */
     public PathfindingResponse executeAlgorithm(PathfindingRequest request) {
+        return executeAlgorithm(request, gridIndexService.indexFor(request.getGrid()));
+    }
+
+    /**
+     * Execute the specified pathfinding algorithm with an index the caller
+     * already built, bypassing the shared index cache and snapshots.
+     * 
+     * @param request Contains grid, start/end points, and algorithm choice
+     * @param index Precomputed index for the request's grid
+     * @return PathfindingResponse with results
+     */
+    public PathfindingResponse executeAlgorithm(PathfindingRequest request, GridIndex index) {
         String algorithm = request.getAlgorithm().toLowerCase();
         
         switch (algorithm) {
             case "bfs":
-                return breadthFirstSearch(request);
+                return breadthFirstSearch(request, index);
             case "dfs":
-                return depthFirstSearch(request);
+                return depthFirstSearch(request, index);
             case "dijkstra":
-                return dijkstraAlgorithm(request);
+                return dijkstraAlgorithm(request, index);
             case "astar":
-                return aStarSearch(request);
+                return aStarSearch(request, index);
             default:
                 return new PathfindingResponse(null, null, false, "Unknown algorithm: " + algorithm);
         }
@@ -48,7 +70,7 @@ public class PathfindingService {
      * Space Complexity: O(V)
      * Guarantees shortest path in unweighted graphs.
      */
-    private PathfindingResponse breadthFirstSearch(PathfindingRequest request) {
+    private PathfindingResponse breadthFirstSearch(PathfindingRequest request, GridIndex index) {
         String[][] grid = request.getGrid();
         Coordinate start = request.getStart();
         Coordinate end = request.getEnd();
@@ -56,6 +78,11 @@ public class PathfindingService {
         int rows = grid.length;
         int cols = grid[0].length;
         
+        // Opt-in: skip the search when start and end lie in different regions
+        if (skipUnreachable && !isReachable(index, start, end)) {
+            return new PathfindingResponse(new ArrayList<>(), new ArrayList<>(), false, "No path found using BFS");
+        }
+        
         // Track visited nodes for visualization
         List<Coordinate> visitedNodes = new ArrayList<>();
         Queue<Node> queue = new LinkedList<>();
@@ -82,7 +109,7 @@ public class PathfindingService {
                 int newCol = current.getCol() + direction[1];
                 String key = newRow + "," + newCol;
                 
-                if (isValidMove(grid, newRow, newCol, rows, cols) && !visited.contains(key)) {
+                if (isValidMove(index, newRow, newCol) && !visited.contains(key)) {
                     visited.add(key);
                     queue.offer(new Node(newRow, newCol, current.getDistance() + 1, current));
                 }
@@ -99,7 +126,7 @@ public class PathfindingService {
      * Space Complexity: O(V)
      * Does not guarantee shortest path.
      */
-    private PathfindingResponse depthFirstSearch(PathfindingRequest request) {
+    private PathfindingResponse depthFirstSearch(PathfindingRequest request, GridIndex index) {
         String[][] grid = request.getGrid();
         Coordinate start = request.getStart();
         Coordinate end = request.getEnd();
@@ -107,6 +134,11 @@ public class PathfindingService {
         int rows = grid.length;
         int cols = grid[0].length;
         
+        // Opt-in: skip the search when start and end lie in different regions
+        if (skipUnreachable && !isReachable(index, start, end)) {
+            return new PathfindingResponse(new ArrayList<>(), new ArrayList<>(), false, "No path found using DFS");
+        }
+        
         List<Coordinate> visitedNodes = new ArrayList<>();
         Stack<Node> stack = new Stack<>();
         Set<String> visited = new HashSet<>();
@@ -136,7 +168,7 @@ public class PathfindingService {
                 int newCol = current.getCol() + direction[1];
                 String neighborKey = newRow + "," + newCol;
                 
-                if (isValidMove(grid, newRow, newCol, rows, cols) && !visited.contains(neighborKey)) {
+                if (isValidMove(index, newRow, newCol) && !visited.contains(neighborKey)) {
                     stack.push(new Node(newRow, newCol, current.getDistance() + 1, current));
                 }
             }
@@ -152,7 +184,7 @@ public class PathfindingService {
      * Space Complexity: O(V)
      * Guarantees shortest path in weighted graphs with non-negative weights.
      */
-    private PathfindingResponse dijkstraAlgorithm(PathfindingRequest request) {
+    private PathfindingResponse dijkstraAlgorithm(PathfindingRequest request, GridIndex index) {
         String[][] grid = request.getGrid();
         Coordinate start = request.getStart();
         Coordinate end = request.getEnd();
@@ -160,6 +192,11 @@ public class PathfindingService {
         int rows = grid.length;
         int cols = grid[0].length;
         
+        // Opt-in: skip the search when start and end lie in different regions
+        if (skipUnreachable && !isReachable(index, start, end)) {
+            return new PathfindingResponse(new ArrayList<>(), new ArrayList<>(), false, "No path found using Dijkstra");
+        }
+        
         List<Coordinate> visitedNodes = new ArrayList<>();
         PriorityQueue<Node> pq = new PriorityQueue<>(Comparator.comparingInt(Node::getDistance));
         Map<String, Integer> distances = new HashMap<>();
@@ -168,7 +205,7 @@ public class PathfindingService {
         // Initialize distances
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < cols; j++) {
-                if (!grid[i][j].equals("wall")) {
+                if (index.isPassable(i, j)) {
                     String key = i + "," + j;
                     distances.put(key, (i == start.getRow() && j == start.getCol()) ? 0 : Integer.MAX_VALUE);
                 }
@@ -206,7 +243,7 @@ public class PathfindingService {
                 String neighborKey = newRow + "," + newCol;
                 
                 // Only consider valid moves (within bounds and not a wall)
-                if (isValidMove(grid, newRow, newCol, rows, cols)) {
+                if (isValidMove(index, newRow, newCol)) {
                     int newDistance = current.getDistance() + 1; // Assuming unit weight
                     Integer currentDistanceToNeighbor = distances.get(neighborKey);
                     
@@ -230,7 +267,7 @@ public class PathfindingService {
      * Space Complexity: O(b^d)
      * Guarantees shortest path with admissible heuristic.
      */
-    private PathfindingResponse aStarSearch(PathfindingRequest request) {
+    private PathfindingResponse aStarSearch(PathfindingRequest request, GridIndex index) {
         String[][] grid = request.getGrid();
         Coordinate start = request.getStart();
         Coordinate end = request.getEnd();
@@ -238,6 +275,11 @@ public class PathfindingService {
         int rows = grid.length;
         int cols = grid[0].length;
         
+        // Opt-in: skip the search when start and end lie in different regions
+        if (skipUnreachable && !isReachable(index, start, end)) {
+            return new PathfindingResponse(new ArrayList<>(), new ArrayList<>(), false, "No path found using A*");
+        }
+        
         List<Coordinate> visitedNodes = new ArrayList<>();
         PriorityQueue<Node> openSet = new PriorityQueue<>((a, b) -> 
             Integer.compare(a.getDistance() + a.getHeuristic(), b.getDistance() + b.getHeuristic()));
@@ -271,7 +313,7 @@ public class PathfindingService {
                 int newCol = current.getCol() + direction[1];
                 String neighborKey = newRow + "," + newCol;
                 
-                if (!isValidMove(grid, newRow, newCol, rows, cols) || closedSet.contains(neighborKey)) {
+                if (!isValidMove(index, newRow, newCol) || closedSet.contains(neighborKey)) {
                     continue;
                 }
                 
@@ -293,10 +335,19 @@ public class PathfindingService {
     }
 
     /**
-     * Check if a move to the specified coordinates is valid.
+     * Check if start and end share a connected region, building component
+     * labels if the index does not have them yet.
+     */
+    private boolean isReachable(GridIndex index, Coordinate start, Coordinate end) {
+        return index.withLabels().isConnected(start.getRow(), start.getCol(), end.getRow(), end.getCol());
+    }
+
+    /**
+     * Check if a move to the specified coordinates is valid, using the
+     * precomputed grid index instead of comparing cell strings.
      */
-    private boolean isValidMove(String[][] grid, int row, int col, int rows, int cols) {
-        return row >= 0 && row < rows && col >= 0 && col < cols && !grid[row][col].equals("wall");
+    private boolean isValidMove(GridIndex index, int row, int col) {
+        return index.isPassable(row, col);
     }
 
     /**
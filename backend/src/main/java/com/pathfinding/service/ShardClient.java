@@ -0,0 +1,133 @@
+package com.pathfinding.service;
+
+import com.pathfinding.dto.*;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Sends tile queries to the backend instances that own them.
+ *
+ * Tiles are assigned to the configured nodes by hashing their tile position.
+ * With no nodes configured every tile is owned by this instance and queries
+ * run in-process, which keeps sharded mode usable on a single backend.
+ *
+ * A query for a tile its owner does not hold (HTTP 404 from a remote owner)
+ * completes exceptionally with {@link NoSuchElementException}.
+ */
+@Component
+public class ShardClient {
+
+    private static final String LOCAL = "local";
+
+    private final List<String> nodes;
+    private final RestClient restClient;
+    private final ExecutorService executor;
+
+    @Autowired
+    private ShardWorkerService shardWorkerService;
+
+    @Autowired
+    private ShardMetrics shardMetrics;
+
+    public ShardClient(@Value("${pathfinding.shard.nodes:}") List<String> nodes,
+                       @Value("${pathfinding.shard.timeout-ms:5000}") int timeoutMs,
+                       @Value("${pathfinding.shard.parallelism:16}") int parallelism) {
+        this.nodes = nodes.stream()
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .map(node -> node.endsWith("/") ? node.substring(0, node.length() - 1) : node)
+                .toList();
+
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeoutMs);
+        requestFactory.setReadTimeout(timeoutMs);
+        this.restClient = RestClient.builder().requestFactory(requestFactory).build();
+        this.executor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Pick the owner of a tile: a node base URL, or "local".
+     */
+    public String ownerOf(int tileRow, int tileCol) {
+        if (nodes.isEmpty()) {
+            return LOCAL;
+        }
+        return nodes.get(Math.floorMod(31 * tileRow + tileCol, nodes.size()));
+    }
+
+    /**
+     * Hand a tile to its owner to keep resident.
+     */
+    public CompletableFuture<Void> uploadTile(String owner, ShardTileUpload upload) {
+        return call(owner, "/api/shard/tiles", upload, Void.class, () -> {
+            shardWorkerService.storeTile(upload);
+            return null;
+        });
+    }
+
+    /**
+     * Ask the owner for in-tile distances between the given cells.
+     */
+    public CompletableFuture<ShardTileResponse> tileDistances(String owner, ShardTileRequest request) {
+        return call(owner, "/api/shard/tile", request, ShardTileResponse.class,
+                () -> shardWorkerService.computeTileDistances(request));
+    }
+
+    /**
+     * Ask the owner for the path through one visit's waypoints in a tile.
+     */
+    public CompletableFuture<PathfindingResponse> segment(String owner, ShardSegmentRequest request) {
+        return call(owner, "/api/shard/segment", request, PathfindingResponse.class,
+                () -> shardWorkerService.findSegment(request));
+    }
+
+    private <T> CompletableFuture<T> call(String owner, String path, Object body,
+                                          Class<T> responseType, Supplier<T> localCall) {
+        return CompletableFuture.supplyAsync(() -> {
+            long startTime = System.nanoTime();
+            boolean success = false;
+            try {
+                T response;
+                if (LOCAL.equals(owner)) {
+                    response = localCall.get();
+                } else {
+                    RestClient.ResponseSpec spec = restClient.post()
+                            .uri(owner + path)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .body(body)
+                            .retrieve();
+                    if (responseType == Void.class) {
+                        spec.toBodilessEntity();
+                        response = null;
+                    } else {
+                        response = spec.body(responseType);
+                    }
+                }
+                if (response == null && responseType != Void.class) {
+                    throw new IllegalStateException("Empty response from shard " + owner);
+                }
+                success = true;
+                return response;
+            } catch (HttpClientErrorException.NotFound e) {
+                throw new NoSuchElementException("Shard " + owner + " does not hold the tile for " + body);
+            } finally {
+                shardMetrics.recordCall(owner, System.nanoTime() - startTime, success);
+            }
+        }, executor);
+    }
+}
@@ -0,0 +1,534 @@
+package com.pathfinding.service;
+
+import com.pathfinding.dto.*;
+import com.pathfinding.model.GridIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Service coordinating a pathfinding query over a grid split into tiles,
+ * using an HPA*-style abstraction.
+ *
+ * A grid is registered once as a world: the coordinator packs it into a wall
+ * bitmap, finds the entrances on every tile boundary (every contiguous run of
+ * open cell pairs, crossed at its middle cell or at both ends for long runs)
+ * and hands each tile's bitmap to its owner, which keeps it resident. Only
+ * the bitmap and the entrance graph stay on the coordinator, for at most
+ * {@code pathfinding.shard.max-worlds} worlds.
+ *
+ * A query then runs in two steps:
+ * 1. The coordinator runs A* over the entrance graph. The first time the
+ *    search reaches a tile, that tile's owner is asked in the background for
+ *    in-tile distances between the tile's entrances (plus start/end), so only
+ *    tiles the search actually needs are queried.
+ * 2. Each visit of the resulting route to a tile is expanded into cells by its
+ *    owner with a single call, in parallel, and the validated segments are
+ *    stitched together.
+ *
+ * Queries only send world id, tile id and tile-local cells. If an owner no
+ * longer holds a tile, the tile is handed over again and the query retried once.
+ *
+ * Reachability matches a search over the whole grid. Because each entrance is
+ * crossed at fixed cells, a path can be slightly longer than the true shortest one.
+ */
+@Service
+public class ShardCoordinatorService {
+
+    // Runs at least this long are crossed at both ends rather than the middle
+    private static final int LONG_ENTRANCE = 6;
+
+    @Autowired
+    private ShardClient shardClient;
+
+    @Autowired
+    private ShardMetrics shardMetrics;
+
+    @Value("${pathfinding.shard.tile-size:64}")
+    private int tileSize;
+
+    @Value("${pathfinding.shard.max-worlds:16}")
+    private int maxWorlds;
+
+    private Map<String, World> worlds;
+
+    @PostConstruct
+    public void validateSettings() {
+        if (tileSize < 1) {
+            throw new IllegalStateException("pathfinding.shard.tile-size must be at least 1, got " + tileSize);
+        }
+        if (maxWorlds < 1) {
+            throw new IllegalStateException("pathfinding.shard.max-worlds must be at least 1, got " + maxWorlds);
+        }
+        this.worlds = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, World> eldest) {
+                return size() > maxWorlds;
+            }
+        });
+    }
+
+    /**
+     * Register a grid for sharded queries and hand its tiles to their owners.
+     * Registering the same wall layout again reuses the existing world.
+     */
+    public ShardWorldResponse register(String[][] grid) {
+        World world = registerWorld(grid);
+        return new ShardWorldResponse(world.id, world.walls.getRows(), world.walls.getCols(), tileSize,
+                world.tileRows * world.tileCols);
+    }
+
+    /**
+     * Find a path using the sharded tile search, registering the grid first if needed.
+     *
+     * @param request Contains grid and start/end points; the algorithm field is ignored
+     * @return PathfindingResponse whose visited nodes are the settled entrance cells
+     */
+    public PathfindingResponse findPath(PathfindingRequest request) {
+        return findPath(registerWorld(request.getGrid()), request.getStart(), request.getEnd());
+    }
+
+    /**
+     * Find a path in a registered world.
+     *
+     * @return the response, or empty if the world is not (or no longer) registered
+     */
+    public Optional<PathfindingResponse> findPath(String worldId, Coordinate start, Coordinate end) {
+        World world = worlds.get(worldId);
+        return world == null ? Optional.empty() : Optional.of(findPath(world, start, end));
+    }
+
+    private World registerWorld(String[][] grid) {
+        int rows = grid.length;
+        int cols = grid[0].length;
+        long[] walls = GridIndex.wallBits(grid);
+        String worldId = worldId(rows, cols, walls);
+
+        World world = worlds.get(worldId);
+        if (world != null) {
+            return world;
+        }
+
+        world = new World(worldId, GridIndex.ofWalls(rows, cols, walls),
+                (rows + tileSize - 1) / tileSize, (cols + tileSize - 1) / tileSize);
+        addEntrances(world);
+
+        List<CompletableFuture<Void>> uploads = new ArrayList<>();
+        for (int tileId = 0; tileId < world.tileRows * world.tileCols; tileId++) {
+            uploads.add(shardClient.uploadTile(ownerOf(world, tileId), tileUpload(world, tileId)));
+        }
+        CompletableFuture.allOf(uploads.toArray(new CompletableFuture[0])).join();
+
+        worlds.put(worldId, world);
+        return world;
+    }
+
+    private PathfindingResponse findPath(World world, Coordinate start, Coordinate end) {
+        GridIndex walls = world.walls;
+        int cols = walls.getCols();
+        if (!walls.isPassable(start.getRow(), start.getCol()) || !walls.isPassable(end.getRow(), end.getCol())) {
+            return new PathfindingResponse(new ArrayList<>(), new ArrayList<>(), false,
+                    "No path found using sharded search");
+        }
+
+        int startCell = start.getRow() * cols + start.getCol();
+        int endCell = end.getRow() * cols + end.getCol();
+
+        // Step 1: A* over the abstract graph, querying tiles as the search reaches them
+        Map<Integer, TileQuery> tileQueries = new HashMap<>();
+        List<Coordinate> visitedNodes = new ArrayList<>();
+        Map<Integer, Integer> parents = new HashMap<>();
+        boolean found = searchAbstractGraph(world, startCell, endCell, tileQueries, visitedNodes, parents);
+        int fanOut = tileQueries.size();
+        if (!found) {
+            shardMetrics.recordQuery(fanOut);
+            return new PathfindingResponse(visitedNodes, new ArrayList<>(), false,
+                    "No path found using sharded search");
+        }
+
+        List<Integer> waypoints = new ArrayList<>();
+        for (Integer cell = endCell; cell != null; cell = parents.get(cell)) {
+            waypoints.add(0, cell);
+        }
+
+        // Step 2: one segment call per visit to a tile, i.e. per run of waypoints in the same tile
+        List<TileVisit> visits = new ArrayList<>();
+        for (int i = 0; i < waypoints.size() - 1; i++) {
+            int tileId = tileOf(waypoints.get(i), cols);
+            if (tileOf(waypoints.get(i + 1), cols) != tileId) continue; // Unit step between neighbouring tiles
+
+            int last = i + 1;
+            while (last + 1 < waypoints.size() && tileOf(waypoints.get(last + 1), cols) == tileId) {
+                last++;
+            }
+            List<Coordinate> local = new ArrayList<>();
+            for (int cell : waypoints.subList(i, last + 1)) {
+                local.add(toLocal(world, tileId, cell));
+            }
+            ShardSegmentRequest segmentRequest = new ShardSegmentRequest(world.id, tileId, local);
+            visits.add(new TileVisit(tileId, i, last, local, onResidentTile(world, tileId,
+                    () -> shardClient.segment(ownerOf(world, tileId), segmentRequest))));
+            i = last - 1;
+        }
+        fanOut += visits.size();
+
+        List<Coordinate> path = new ArrayList<>();
+        path.add(new Coordinate(start.getRow(), start.getCol()));
+        Iterator<TileVisit> nextVisits = visits.iterator();
+        TileVisit visit = nextVisits.hasNext() ? nextVisits.next() : null;
+        for (int i = 0; i < waypoints.size() - 1; ) {
+            if (visit != null && visit.first == i) {
+                List<Coordinate> segment = validSegment(world, visit);
+                // Skip the first cell; it is the previous segment's last cell
+                path.addAll(segment.subList(1, segment.size()));
+                i = visit.last;
+                visit = nextVisits.hasNext() ? nextVisits.next() : null;
+            } else {
+                int to = waypoints.get(++i);
+                path.add(new Coordinate(to / cols, to % cols));
+            }
+        }
+
+        shardMetrics.recordQuery(fanOut);
+        return new PathfindingResponse(visitedNodes, path, true, "Path found using sharded search");
+    }
+
+    /**
+     * Check an owner's segment for a tile visit and convert it to grid coordinates.
+     *
+     * @throws IllegalStateException if the owner found no path, or its path does
+     *         not run from the visit's first to its last waypoint through open,
+     *         adjacent cells of that tile
+     */
+    private List<Coordinate> validSegment(World world, TileVisit visit) {
+        PathfindingResponse response = visit.future.join();
+        String owner = ownerOf(world, visit.tileId);
+        if (!response.isSuccess() || response.getPath() == null || response.getPath().isEmpty()) {
+            throw new IllegalStateException("Shard " + owner + " returned no segment for tile " + visit.tileId +
+                    ": " + response.getMessage());
+        }
+
+        List<Coordinate> local = response.getPath();
+        if (!local.get(0).equals(visit.waypoints.get(0))
+                || !local.get(local.size() - 1).equals(visit.waypoints.get(visit.waypoints.size() - 1))) {
+            throw new IllegalStateException("Shard " + owner + " returned a segment for tile " + visit.tileId +
+                    " that does not run from " + visit.waypoints.get(0) + " to " +
+                    visit.waypoints.get(visit.waypoints.size() - 1));
+        }
+
+        int cols = world.walls.getCols();
+        int rowOffset = (visit.tileId / world.tileCols) * tileSize;
+        int colOffset = (visit.tileId % world.tileCols) * tileSize;
+        List<Coordinate> segment = new ArrayList<>();
+        for (int j = 0; j < local.size(); j++) {
+            Coordinate cell = local.get(j);
+            int row = cell.getRow() + rowOffset;
+            int col = cell.getCol() + colOffset;
+            boolean inTile = cell.getRow() >= 0 && cell.getRow() < tileSize && cell.getCol() >= 0 && cell.getCol() < tileSize;
+            boolean adjacent = j == 0 || Math.abs(cell.getRow() - local.get(j - 1).getRow())
+                    + Math.abs(cell.getCol() - local.get(j - 1).getCol()) == 1;
+            if (!inTile || !adjacent || !world.walls.isPassable(row, col) || tileOf(row * cols + col, cols) != visit.tileId) {
+                throw new IllegalStateException("Shard " + owner + " returned an invalid segment for tile " +
+                        visit.tileId + " at " + cell);
+            }
+            segment.add(new Coordinate(row, col));
+        }
+        return segment;
+    }
+
+    /**
+     * Find the entrances on every tile boundary and register their transition cells.
+     */
+    private void addEntrances(World world) {
+        GridIndex walls = world.walls;
+        int rows = walls.getRows();
+        int cols = walls.getCols();
+
+        // Vertical boundaries: column col-1 on the left, col on the right
+        for (int col = tileSize; col < cols; col += tileSize) {
+            for (int top = 0; top < rows; top += tileSize) {
+                int bottom = Math.min(top + tileSize, rows);
+                int runStart = -1;
+                for (int row = top; row <= bottom; row++) {
+                    boolean open = row < bottom && walls.isPassable(row, col - 1) && walls.isPassable(row, col);
+                    if (open && runStart < 0) {
+                        runStart = row;
+                    } else if (!open && runStart >= 0) {
+                        for (int crossing : crossings(runStart, row - 1)) {
+                            addTransition(world, crossing * cols + col - 1, crossing * cols + col);
+                        }
+                        runStart = -1;
+                    }
+                }
+            }
+        }
+
+        // Horizontal boundaries: row row-1 above, row below
+        for (int row = tileSize; row < rows; row += tileSize) {
+            for (int left = 0; left < cols; left += tileSize) {
+                int right = Math.min(left + tileSize, cols);
+                int runStart = -1;
+                for (int col = left; col <= right; col++) {
+                    boolean open = col < right && walls.isPassable(row - 1, col) && walls.isPassable(row, col);
+                    if (open && runStart < 0) {
+                        runStart = col;
+                    } else if (!open && runStart >= 0) {
+                        for (int crossing : crossings(runStart, col - 1)) {
+                            addTransition(world, (row - 1) * cols + crossing, row * cols + crossing);
+                        }
+                        runStart = -1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Positions along an entrance run [first, last] where the boundary is crossed.
+     */
+    private int[] crossings(int first, int last) {
+        if (last - first + 1 >= LONG_ENTRANCE) {
+            return new int[]{first, last};
+        }
+        return new int[]{(first + last) / 2};
+    }
+
+    private void addTransition(World world, int a, int b) {
+        int cols = world.walls.getCols();
+        world.tileNodes.computeIfAbsent(tileOf(a, cols), key -> new LinkedHashSet<>()).add(a);
+        world.tileNodes.computeIfAbsent(tileOf(b, cols), key -> new LinkedHashSet<>()).add(b);
+        world.crossEdges.computeIfAbsent(a, key -> new ArrayList<>()).add(b);
+        world.crossEdges.computeIfAbsent(b, key -> new ArrayList<>()).add(a);
+    }
+
+    /**
+     * A* over the abstract graph with a Manhattan heuristic, recording settled cells and parents.
+     *
+     * A tile's distance query is started as soon as one of its nodes is queued,
+     * so queries for tiles on the frontier run in parallel with the search.
+     */
+    private boolean searchAbstractGraph(World world, int startCell, int endCell, Map<Integer, TileQuery> tileQueries,
+                                        List<Coordinate> visitedNodes, Map<Integer, Integer> parents) {
+        int cols = world.walls.getCols();
+        int[] endpoints = {startCell, endCell};
+        Map<Integer, Integer> distances = new HashMap<>();
+        Set<Integer> settled = new HashSet<>();
+        PriorityQueue<int[]> openSet = new PriorityQueue<>(Comparator.comparingInt(entry -> entry[2]));
+
+        distances.put(startCell, 0);
+        openSet.offer(new int[]{startCell, 0, manhattan(startCell, endCell, cols)});
+        queryTile(world, tileOf(startCell, cols), endpoints, tileQueries);
+
+        while (!openSet.isEmpty()) {
+            int[] current = openSet.poll();
+            int cell = current[0];
+            if (!settled.add(cell)) continue;
+
+            visitedNodes.add(new Coordinate(cell / cols, cell % cols));
+            if (cell == endCell) {
+                return true;
+            }
+
+            // Edges inside the tile come from its owner's distance matrix
+            TileQuery tile = queryTile(world, tileOf(cell, cols), endpoints, tileQueries);
+            int[] row = tile.distances.join()[tile.positions.get(cell)];
+            for (int j = 0; j < tile.nodes.size(); j++) {
+                if (row[j] > 0) {
+                    relax(cell, tile.nodes.get(j), current[1] + row[j], endCell, cols, distances, parents, openSet);
+                }
+            }
+
+            for (int neighbor : world.crossEdges.getOrDefault(cell, Collections.emptyList())) {
+                if (relax(cell, neighbor, current[1] + 1, endCell, cols, distances, parents, openSet)) {
+                    queryTile(world, tileOf(neighbor, cols), endpoints, tileQueries);
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean relax(int from, int to, int newDistance, int endCell, int cols, Map<Integer, Integer> distances,
+                          Map<Integer, Integer> parents, PriorityQueue<int[]> openSet) {
+        Integer known = distances.get(to);
+        if (known != null && newDistance >= known) {
+            return false;
+        }
+        distances.put(to, newDistance);
+        parents.put(to, from);
+        openSet.offer(new int[]{to, newDistance, newDistance + manhattan(to, endCell, cols)});
+        return true;
+    }
+
+    /**
+     * Start the distance query for a tile unless it is already running. The
+     * query covers the tile's entrances plus any of the given endpoints in it.
+     */
+    private TileQuery queryTile(World world, int tileId, int[] endpoints, Map<Integer, TileQuery> tileQueries) {
+        return tileQueries.computeIfAbsent(tileId, id -> {
+            int cols = world.walls.getCols();
+            List<Integer> nodes = new ArrayList<>(world.tileNodes.getOrDefault(id, Collections.emptySet()));
+            for (int endpoint : endpoints) {
+                if (tileOf(endpoint, cols) == id && !nodes.contains(endpoint)) {
+                    nodes.add(endpoint);
+                }
+            }
+
+            List<Coordinate> local = new ArrayList<>();
+            for (int cell : nodes) {
+                local.add(toLocal(world, id, cell));
+            }
+
+            ShardTileRequest tileRequest = new ShardTileRequest(world.id, id, local, local);
+            String owner = ownerOf(world, id);
+            CompletableFuture<int[][]> distances = onResidentTile(world, id,
+                    () -> shardClient.tileDistances(owner, tileRequest))
+                    .thenApply(response -> {
+                        int[][] matrix = response.getDistances();
+                        if (matrix == null || matrix.length != nodes.size()
+                                || Arrays.stream(matrix).anyMatch(row -> row == null || row.length != nodes.size())) {
+                            throw new IllegalStateException("Shard " + owner + " returned a malformed distance matrix for tile " + id);
+                        }
+                        return matrix;
+                    });
+            return new TileQuery(nodes, distances);
+        });
+    }
+
+    /**
+     * Run a query against a tile's owner; if the owner no longer holds the
+     * tile (restart or eviction), hand it over again and retry once.
+     */
+    private <T> CompletableFuture<T> onResidentTile(World world, int tileId, Supplier<CompletableFuture<T>> query) {
+        return query.get().exceptionallyCompose(error -> {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (!(cause instanceof NoSuchElementException)) {
+                return CompletableFuture.failedFuture(cause);
+            }
+            return shardClient.uploadTile(ownerOf(world, tileId), tileUpload(world, tileId))
+                    .thenCompose(ignored -> query.get());
+        });
+    }
+
+    /**
+     * Cut a tile's wall bitmap out of the world's.
+     */
+    private ShardTileUpload tileUpload(World world, int tileId) {
+        int top = (tileId / world.tileCols) * tileSize;
+        int left = (tileId % world.tileCols) * tileSize;
+        int height = Math.min(tileSize, world.walls.getRows() - top);
+        int width = Math.min(tileSize, world.walls.getCols() - left);
+
+        long[] bits = new long[GridIndex.wallWords(height, width)];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (!world.walls.isPassable(top + i, left + j)) {
+                    int cell = i * width + j;
+                    bits[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+        return new ShardTileUpload(world.id, tileId, height, width, bits);
+    }
+
+    /**
+     * Derive a world id from the grid dimensions and wall bitmap. A truncated
+     * SHA-256 is used so owners can trust that equal ids mean equal tiles.
+     */
+    private static String worldId(int rows, int cols, long[] walls) {
+        ByteBuffer bytes = ByteBuffer.allocate(8 + 8 * walls.length).putInt(rows).putInt(cols);
+        for (long word : walls) {
+            bytes.putLong(word);
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes.array());
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String ownerOf(World world, int tileId) {
+        return shardClient.ownerOf(tileId / world.tileCols, tileId % world.tileCols);
+    }
+
+    private Coordinate toLocal(World world, int tileId, int cell) {
+        int cols = world.walls.getCols();
+        return new Coordinate(cell / cols - (tileId / world.tileCols) * tileSize,
+                cell % cols - (tileId % world.tileCols) * tileSize);
+    }
+
+    private int tileOf(int cell, int cols) {
+        int tileCols = (cols + tileSize - 1) / tileSize;
+        return ((cell / cols) / tileSize) * tileCols + (cell % cols) / tileSize;
+    }
+
+    private int manhattan(int a, int b, int cols) {
+        return Math.abs(a / cols - b / cols) + Math.abs(a % cols - b % cols);
+    }
+
+    /**
+     * A registered grid: its wall bitmap, tiling and entrance graph.
+     */
+    private static class World {
+        private final String id;
+        private final GridIndex walls;
+        private final int tileRows;
+        private final int tileCols;
+        private final Map<Integer, Set<Integer>> tileNodes = new HashMap<>();
+        private final Map<Integer, List<Integer>> crossEdges = new HashMap<>();
+
+        World(String id, GridIndex walls, int tileRows, int tileCols) {
+            this.id = id;
+            this.walls = walls;
+            this.tileRows = tileRows;
+            this.tileCols = tileCols;
+        }
+    }
+
+    /**
+     * A tile's abstract nodes and the pending distance query for them.
+     */
+    private static class TileQuery {
+        private final List<Integer> nodes;
+        private final Map<Integer, Integer> positions = new HashMap<>();
+        private final CompletableFuture<int[][]> distances;
+
+        TileQuery(List<Integer> nodes, CompletableFuture<int[][]> distances) {
+            this.nodes = nodes;
+            this.distances = distances;
+            for (int i = 0; i < nodes.size(); i++) {
+                positions.put(nodes.get(i), i);
+            }
+        }
+    }
+
+    /**
+     * One visit of the route to a tile: the waypoint range it covers and the
+     * pending segment from the tile's owner.
+     */
+    private static class TileVisit {
+        private final int tileId;
+        private final int first;
+        private final int last;
+        private final List<Coordinate> waypoints;
+        private final CompletableFuture<PathfindingResponse> future;
+
+        TileVisit(int tileId, int first, int last, List<Coordinate> waypoints,
+                  CompletableFuture<PathfindingResponse> future) {
+            this.tileId = tileId;
+            this.first = first;
+            this.last = last;
+            this.waypoints = waypoints;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.pathfinding.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for sharded pathfinding, exposed through the shard metrics endpoint.
+ *
+ * Tracks per-shard call counts, errors and latency, plus how many shard
+ * calls each coordinated query fanned out to.
+ */
+@Component
+public class ShardMetrics {
+
+    private final Map<String, ShardStats> shards = new ConcurrentHashMap<>();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder totalFanOut = new LongAdder();
+    private final AtomicLong maxFanOut = new AtomicLong();
+    private final AtomicLong lastFanOut = new AtomicLong();
+
+    /**
+     * Record one call to a shard owner.
+     */
+    public void recordCall(String shard, long latencyNanos, boolean success) {
+        shards.computeIfAbsent(shard, key -> new ShardStats()).record(latencyNanos, success);
+    }
+
+    /**
+     * Record the number of shard calls a single coordinated query needed.
+     */
+    public void recordQuery(int fanOut) {
+        queries.increment();
+        totalFanOut.add(fanOut);
+        maxFanOut.accumulateAndGet(fanOut, Math::max);
+        lastFanOut.set(fanOut);
+    }
+
+    /**
+     * Build a JSON-friendly view of the current counters.
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> perShard = new TreeMap<>();
+        shards.forEach((shard, stats) -> perShard.put(shard, stats.snapshot()));
+
+        long queryCount = queries.sum();
+        Map<String, Object> fanOut = new LinkedHashMap<>();
+        fanOut.put("queries", queryCount);
+        fanOut.put("totalCalls", totalFanOut.sum());
+        fanOut.put("avgCallsPerQuery", queryCount == 0 ? 0.0 : (double) totalFanOut.sum() / queryCount);
+        fanOut.put("maxCallsPerQuery", maxFanOut.get());
+        fanOut.put("lastCallsPerQuery", lastFanOut.get());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("fanOut", fanOut);
+        result.put("shards", perShard);
+        return result;
+    }
+
+    /**
+     * Latency and error counters for a single shard owner.
+     */
+    private static class ShardStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+        void record(long latencyNanos, boolean success) {
+            calls.increment();
+            if (!success) errors.increment();
+            totalLatencyNanos.add(latencyNanos);
+            maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        }
+
+        Map<String, Object> snapshot() {
+            long count = calls.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("calls", count);
+            result.put("errors", errors.sum());
+            result.put("avgLatencyMs", count == 0 ? 0.0 : totalLatencyNanos.sum() / 1_000_000.0 / count);
+            result.put("maxLatencyMs", maxLatencyNanos.get() / 1_000_000.0);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.pathfinding.service;
+
+import com.pathfinding.model.GridIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Tiles this instance owns, kept resident between coordinator queries.
+ *
+ * Tiles are keyed by world id plus tile id and indexed once when they are
+ * handed over, so tile and segment queries only carry tile-local cells. The
+ * store holds at most {@code pathfinding.shard.max-resident-tiles} tiles and
+ * drops the least recently used; a coordinator that finds a tile missing
+ * simply hands it over again.
+ */
+@Component
+public class ShardTileStore {
+
+    private final Map<String, GridIndex> tiles;
+
+    public ShardTileStore(@Value("${pathfinding.shard.max-resident-tiles:4096}") int maxTiles) {
+        this.tiles = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, GridIndex> eldest) {
+                return size() > maxTiles;
+            }
+        });
+    }
+
+    public void put(String worldId, int tileId, GridIndex tile) {
+        tiles.put(key(worldId, tileId), tile);
+    }
+
+    /**
+     * @return the resident tile, or empty if it was never handed over or has been dropped
+     */
+    public Optional<GridIndex> get(String worldId, int tileId) {
+        return Optional.ofNullable(tiles.get(key(worldId, tileId)));
+    }
+
+    public int size() {
+        return tiles.size();
+    }
+
+    public void clear() {
+        tiles.clear();
+    }
+
+    private static String key(String worldId, int tileId) {
+        return worldId + "/" + tileId;
+    }
+}
@@ -0,0 +1,158 @@
+package com.pathfinding.service;
+
+import com.pathfinding.dto.*;
+import com.pathfinding.model.GridIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+/**
+ * Service answering the per-tile queries a shard owner receives from a coordinator.
+ *
+ * A coordinator hands each tile to its owner once as a wall bitmap; the
+ * owner indexes it and keeps it in the {@link ShardTileStore}. Later queries
+ * name the tile by world id and tile id and carry only tile-local cells.
+ * Queries for a tile that is not resident fail with
+ * {@link NoSuchElementException}, which tells the coordinator to hand it over again.
+ */
+@Service
+public class ShardWorkerService {
+
+    // Directions for grid movement (up, down, left, right)
+    private static final int[][] DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+
+    @Autowired
+    private ShardTileStore shardTileStore;
+
+    /**
+     * Index a tile and keep it resident.
+     */
+    public void storeTile(ShardTileUpload upload) {
+        int rows = upload.getRows();
+        int cols = upload.getCols();
+        long[] walls = upload.getWalls();
+        if (rows < 1 || cols < 1 || walls == null || walls.length != GridIndex.wallWords(rows, cols)) {
+            throw new IllegalArgumentException("Malformed tile " + upload);
+        }
+        shardTileStore.put(upload.getWorldId(), upload.getTileId(), GridIndex.build(rows, cols, walls));
+    }
+
+    /**
+     * Compute in-tile shortest distances from every source to every target.
+     *
+     * Runs one BFS per source and skips pairs in different components.
+     */
+    public ShardTileResponse computeTileDistances(ShardTileRequest request) {
+        GridIndex tile = residentTile(request.getWorldId(), request.getTileId());
+        List<Coordinate> sources = request.getSources();
+        List<Coordinate> targets = request.getTargets();
+
+        int cells = tile.getRows() * tile.getCols();
+        int[][] distances = new int[sources.size()][targets.size()];
+        int[] cellDistance = new int[cells];
+        int[] queue = new int[cells];
+
+        for (int s = 0; s < sources.size(); s++) {
+            Coordinate source = sources.get(s);
+            Arrays.fill(distances[s], -1);
+            if (!tile.isPassable(source.getRow(), source.getCol())) continue;
+
+            // Only search if some target shares the source's component
+            boolean anyReachable = false;
+            for (Coordinate target : targets) {
+                if (tile.isConnected(source.getRow(), source.getCol(), target.getRow(), target.getCol())) {
+                    anyReachable = true;
+                    break;
+                }
+            }
+            if (!anyReachable) continue;
+
+            bfs(tile, source, cellDistance, null, queue);
+            for (int t = 0; t < targets.size(); t++) {
+                Coordinate target = targets.get(t);
+                if (tile.isPassable(target.getRow(), target.getCol())) {
+                    distances[s][t] = cellDistance[target.getRow() * tile.getCols() + target.getCol()];
+                }
+            }
+        }
+
+        return new ShardTileResponse(distances);
+    }
+
+    /**
+     * Find the shortest in-tile path through the given waypoints, in order.
+     *
+     * Visited nodes are left out since the coordinator only stitches paths.
+     */
+    public PathfindingResponse findSegment(ShardSegmentRequest request) {
+        GridIndex tile = residentTile(request.getWorldId(), request.getTileId());
+        List<Coordinate> waypoints = request.getWaypoints();
+        int cols = tile.getCols();
+
+        int cells = tile.getRows() * cols;
+        int[] cellDistance = new int[cells];
+        int[] parents = new int[cells];
+        int[] queue = new int[cells];
+
+        List<Coordinate> path = new ArrayList<>();
+        path.add(waypoints.get(0));
+        for (int i = 1; i < waypoints.size(); i++) {
+            Coordinate from = waypoints.get(i - 1);
+            Coordinate to = waypoints.get(i);
+            if (!tile.isConnected(from.getRow(), from.getCol(), to.getRow(), to.getCol())) {
+                return new PathfindingResponse(null, new ArrayList<>(), false,
+                        "No path from " + from + " to " + to + " in tile " + request.getTileId());
+            }
+
+            bfs(tile, from, cellDistance, parents, queue);
+            List<Coordinate> hop = new ArrayList<>();
+            for (int cell = to.getRow() * cols + to.getCol(); cell != from.getRow() * cols + from.getCol(); cell = parents[cell]) {
+                hop.add(new Coordinate(cell / cols, cell % cols));
+            }
+            Collections.reverse(hop);
+            path.addAll(hop);
+        }
+
+        return new PathfindingResponse(null, path, true, "Path found in tile " + request.getTileId());
+    }
+
+    private GridIndex residentTile(String worldId, int tileId) {
+        return shardTileStore.get(worldId, tileId)
+                .orElseThrow(() -> new NoSuchElementException("Tile " + tileId + " of world " + worldId + " is not resident"));
+    }
+
+    /**
+     * Breadth-first search over the tile from one cell, filling in distances
+     * (-1 where unreachable) and, if given, each cell's parent.
+     */
+    private void bfs(GridIndex tile, Coordinate source, int[] cellDistance, int[] parents, int[] queue) {
+        int cols = tile.getCols();
+        Arrays.fill(cellDistance, -1);
+        int head = 0;
+        int tail = 0;
+        int startCell = source.getRow() * cols + source.getCol();
+        cellDistance[startCell] = 0;
+        queue[tail++] = startCell;
+
+        while (head < tail) {
+            int current = queue[head++];
+            int row = current / cols;
+            int col = current % cols;
+            for (int[] direction : DIRECTIONS) {
+                int newRow = row + direction[0];
+                int newCol = col + direction[1];
+                if (!tile.isPassable(newRow, newCol)) continue;
+
+                int neighbor = newRow * cols + newCol;
+                if (cellDistance[neighbor] == -1) {
+                    cellDistance[neighbor] = cellDistance[current] + 1;
+                    if (parents != null) {
+                        parents[neighbor] = current;
+                    }
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.pathfinding.controller;
+
+import com.pathfinding.PathfindingApplication;
+import com.pathfinding.dto.Coordinate;
+import com.pathfinding.dto.PathfindingRequest;
+import com.pathfinding.dto.PathfindingResponse;
+import com.pathfinding.dto.ShardWorldResponse;
+import com.pathfinding.service.ShardTileStore;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs sharded searches through a coordinator backed by two worker instances
+ * on local ports and checks them against a plain BFS over the whole grid.
+ *
+ * Reachability must match exactly. Paths must be valid and may only be
+ * slightly longer than the BFS path, since entrances are crossed at fixed cells.
+ * Workers must keep the tiles they are handed, and get them again if dropped.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"pathfinding.shard.tile-size=8", "pathfinding.snapshot.enabled=false"})
+class ShardControllerIntegrationTest {
+
+    private static final int WORKERS = 2;
+    private static final List<ConfigurableApplicationContext> workers = new ArrayList<>();
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @DynamicPropertySource
+    static void shardNodes(DynamicPropertyRegistry registry) {
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < WORKERS; i++) {
+            ConfigurableApplicationContext worker = new SpringApplicationBuilder(PathfindingApplication.class)
+                    .properties("server.port=0", "pathfinding.snapshot.enabled=false")
+                    .run();
+            workers.add(worker);
+            int port = ((WebServerApplicationContext) worker).getWebServer().getPort();
+            nodes.add("http://localhost:" + port);
+        }
+        registry.add("pathfinding.shard.nodes", () -> String.join(",", nodes));
+    }
+
+    @AfterAll
+    static void stopWorkers() {
+        workers.forEach(ConfigurableApplicationContext::close);
+        workers.clear();
+    }
+
+    @Test
+    void shardedSearchMatchesFullGridBfs() {
+        for (int seed = 0; seed < 40; seed++) {
+            PathfindingRequest request = randomRequest(new Random(seed), 30, 45, 0.3);
+
+            PathfindingResponse expected = restTemplate.postForObject("/api/pathfind", request, PathfindingResponse.class);
+            PathfindingResponse actual = restTemplate.postForObject("/api/shard/pathfind", request, PathfindingResponse.class);
+            assertMatchesBfs(request, expected, actual, seed);
+        }
+    }
+
+    @Test
+    void registeredWorldIsQueriedWithoutGrid() {
+        for (int seed = 100; seed < 110; seed++) {
+            PathfindingRequest request = randomRequest(new Random(seed), 30, 45, 0.3);
+            ShardWorldResponse world = restTemplate.postForObject("/api/shard/worlds", request, ShardWorldResponse.class);
+            assertEquals(4 * 6, world.getTiles());
+
+            PathfindingRequest query = new PathfindingRequest(null, request.getStart(), request.getEnd(), "bfs");
+            PathfindingResponse expected = restTemplate.postForObject("/api/pathfind", request, PathfindingResponse.class);
+            PathfindingResponse actual = restTemplate.postForObject(
+                    "/api/shard/worlds/" + world.getWorldId() + "/pathfind", query, PathfindingResponse.class);
+            assertMatchesBfs(request, expected, actual, seed);
+        }
+
+        ResponseEntity<PathfindingResponse> unknown = restTemplate.postForEntity("/api/shard/worlds/unknown/pathfind",
+                new PathfindingRequest(null, new Coordinate(0, 0), new Coordinate(1, 1), "bfs"), PathfindingResponse.class);
+        assertEquals(404, unknown.getStatusCode().value());
+    }
+
+    @Test
+    void workersKeepTilesAndGetDroppedTilesAgain() {
+        PathfindingRequest request = randomRequest(new Random(3), 30, 45, 0.2);
+        restTemplate.postForObject("/api/shard/pathfind", request, PathfindingResponse.class);
+        int resident = 0;
+        for (ConfigurableApplicationContext worker : workers) {
+            resident += worker.getBean(ShardTileStore.class).size();
+        }
+        assertTrue(resident >= 4 * 6, "tiles resident on workers");
+
+        // Simulate worker restarts: the coordinator must hand the tiles over again
+        workers.forEach(worker -> worker.getBean(ShardTileStore.class).clear());
+        PathfindingResponse expected = restTemplate.postForObject("/api/pathfind", request, PathfindingResponse.class);
+        PathfindingResponse actual = restTemplate.postForObject("/api/shard/pathfind", request, PathfindingResponse.class);
+        assertMatchesBfs(request, expected, actual, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void metricsReportEveryShard() {
+        PathfindingRequest request = randomRequest(new Random(7), 30, 45, 0.0);
+        restTemplate.postForObject("/api/shard/pathfind", request, PathfindingResponse.class);
+
+        Map<String, Object> metrics = restTemplate.getForObject("/api/shard/metrics", Map.class);
+        Map<String, Object> shards = (Map<String, Object>) metrics.get("shards");
+        for (ConfigurableApplicationContext worker : workers) {
+            int port = ((WebServerApplicationContext) worker).getWebServer().getPort();
+            assertTrue(shards.containsKey("http://localhost:" + port), "metrics for worker on port " + port);
+        }
+        Map<String, Object> fanOut = (Map<String, Object>) metrics.get("fanOut");
+        assertTrue(((Number) fanOut.get("queries")).intValue() > 0);
+    }
+
+    private static void assertMatchesBfs(PathfindingRequest request, PathfindingResponse expected,
+                                         PathfindingResponse actual, int seed) {
+        assertEquals(expected.isSuccess(), actual.isSuccess(), "reachability for seed " + seed);
+        if (!expected.isSuccess()) return;
+
+        List<Coordinate> path = actual.getPath();
+        assertEquals(request.getStart(), path.get(0), "path start for seed " + seed);
+        assertEquals(request.getEnd(), path.get(path.size() - 1), "path end for seed " + seed);
+        for (int i = 1; i < path.size(); i++) {
+            Coordinate previous = path.get(i - 1);
+            Coordinate cell = path.get(i);
+            assertEquals(1, Math.abs(previous.getRow() - cell.getRow()) + Math.abs(previous.getCol() - cell.getCol()),
+                    "contiguous path for seed " + seed);
+            assertNotEquals("wall", request.getGrid()[cell.getRow()][cell.getCol()], "path through wall for seed " + seed);
+        }
+
+        // Entrances are crossed at fixed cells, so the path may detour slightly
+        int shortest = expected.getPath().size();
+        assertTrue(path.size() >= shortest, "shorter than BFS for seed " + seed);
+        assertTrue(path.size() <= shortest + shortest / 5, "path too long for seed " + seed);
+    }
+
+    private static PathfindingRequest randomRequest(Random random, int rows, int cols, double density) {
+        String[][] grid = new String[rows][cols];
+        for (String[] row : grid) {
+            for (int j = 0; j < cols; j++) {
+                row[j] = random.nextDouble() < density ? "wall" : "empty";
+            }
+        }
+
+        Coordinate start = new Coordinate(random.nextInt(rows), random.nextInt(cols));
+        Coordinate end = new Coordinate(random.nextInt(rows), random.nextInt(cols));
+        grid[start.getRow()][start.getCol()] = "start";
+        grid[end.getRow()][end.getCol()] = "end";
+        return new PathfindingRequest(grid, start, end, "bfs");
+    }
+}
@@ -0,0 +1,102 @@
+package com.pathfinding.controller;
+
+import com.pathfinding.dto.Coordinate;
+import com.pathfinding.dto.PathfindingRequest;
+import com.pathfinding.dto.PathfindingResponse;
+import com.pathfinding.dto.ShardSegmentRequest;
+import com.pathfinding.service.ShardWorkerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Checks that the coordinator rejects segments from an owner that do not
+ * form a valid path between the waypoints it asked for, instead of stitching
+ * them into the response.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"pathfinding.shard.tile-size=4", "pathfinding.snapshot.enabled=false"})
+class ShardSegmentValidationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @SpyBean
+    private ShardWorkerService shardWorkerService;
+
+    @Test
+    void validSegmentsAreStitched() {
+        ResponseEntity<PathfindingResponse> response =
+                restTemplate.postForEntity("/api/shard/pathfind", openGrid(8, 8, 3), PathfindingResponse.class);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertTrue(response.getBody().isSuccess());
+        assertEquals(11, response.getBody().getPath().size());
+    }
+
+    @Test
+    void failedSegmentFailsTheQuery() {
+        doReturn(new PathfindingResponse(null, new ArrayList<>(), false, "broken"))
+                .when(shardWorkerService).findSegment(any());
+
+        assertRejected(openGrid(8, 8, 0));
+    }
+
+    @Test
+    void segmentEndingElsewhereFailsTheQuery() {
+        doAnswer(invocation -> {
+            ShardSegmentRequest request = invocation.getArgument(0);
+            // Stop one waypoint short
+            List<Coordinate> waypoints = request.getWaypoints();
+            return new PathfindingResponse(null, new ArrayList<>(waypoints.subList(0, 1)), true, "short");
+        }).when(shardWorkerService).findSegment(any());
+
+        assertRejected(openGrid(8, 8, 1));
+    }
+
+    @Test
+    void segmentWithGapFailsTheQuery() {
+        doAnswer(invocation -> {
+            ShardSegmentRequest request = invocation.getArgument(0);
+            // Jump straight from the first to the last waypoint
+            List<Coordinate> waypoints = request.getWaypoints();
+            return new PathfindingResponse(null,
+                    List.of(waypoints.get(0), waypoints.get(waypoints.size() - 1)), true, "gap");
+        }).when(shardWorkerService).findSegment(any());
+
+        assertRejected(openGrid(8, 8, 2));
+    }
+
+    private void assertRejected(PathfindingRequest request) {
+        ResponseEntity<PathfindingResponse> response =
+                restTemplate.postForEntity("/api/shard/pathfind", request, PathfindingResponse.class);
+
+        assertEquals(500, response.getStatusCode().value());
+        assertFalse(response.getBody().isSuccess());
+    }
+
+    /**
+     * An open grid whose corner path crosses several tiles; the variant wall
+     * keeps each test's world distinct.
+     */
+    private static PathfindingRequest openGrid(int rows, int cols, int variant) {
+        String[][] grid = new String[rows][cols];
+        for (String[] row : grid) {
+            Arrays.fill(row, "empty");
+        }
+        grid[rows - 1][variant] = "wall";
+        return new PathfindingRequest(grid, new Coordinate(1, 1), new Coordinate(rows - 2, cols - 2), "bfs");
+    }
+}
@@ -0,0 +1,64 @@
+package com.pathfinding.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyRecorderTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void emptyRecorderReportsZeroPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder(10);
+
+        assertArrayEquals(new double[]{0.0, 0.0, 0.0}, recorder.percentilesMs(0.5, 0.99, 0.999));
+        assertEquals(0, recorder.getSuccessCount());
+        assertEquals(0.0, recorder.getErrorRate());
+    }
+
+    @Test
+    void singleSampleIsEveryPercentile() {
+        LatencyRecorder recorder = new LatencyRecorder(1);
+        recorder.recordSuccess(7 * MS);
+
+        assertArrayEquals(new double[]{7.0, 7.0, 7.0}, recorder.percentilesMs(0.5, 0.99, 0.999));
+    }
+
+    @Test
+    void percentilesUseNearestRank() {
+        LatencyRecorder recorder = new LatencyRecorder(100);
+        // Record out of order to make sure samples are sorted
+        for (int i = 100; i >= 1; i--) {
+            recorder.recordSuccess(i * MS);
+        }
+
+        assertArrayEquals(new double[]{1.0, 50.0, 51.0, 99.0, 100.0, 100.0},
+                recorder.percentilesMs(0.0, 0.5, 0.505, 0.99, 0.999, 1.0));
+    }
+
+    @Test
+    void errorsCountTowardsErrorRateButNotPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder(4);
+        recorder.recordSuccess(2 * MS);
+        recorder.recordSuccess(4 * MS);
+        recorder.recordSuccess(6 * MS);
+        recorder.recordError();
+
+        assertEquals(3, recorder.getSuccessCount());
+        assertEquals(1, recorder.getErrorCount());
+        assertEquals(0.25, recorder.getErrorRate());
+        assertEquals(4.0, recorder.percentilesMs(0.5)[0]);
+    }
+
+    @Test
+    void samplesBeyondCapacityAreDropped() {
+        LatencyRecorder recorder = new LatencyRecorder(2);
+        recorder.recordSuccess(1 * MS);
+        recorder.recordSuccess(2 * MS);
+        recorder.recordSuccess(3 * MS);
+
+        assertEquals(2, recorder.getSuccessCount());
+        assertEquals(2.0, recorder.percentilesMs(1.0)[0]);
+    }
+}
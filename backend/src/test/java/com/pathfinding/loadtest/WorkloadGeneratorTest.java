@@ -0,0 +1,101 @@
+package com.pathfinding.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pathfinding.dto.PathfindingRequest;
+import com.pathfinding.loadtest.WorkloadGenerator.WorkloadItem;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadGeneratorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final WorkloadGenerator generator = new WorkloadGenerator(objectMapper);
+
+    @Test
+    void sameSeedGeneratesSameWorkload() throws Exception {
+        List<WorkloadItem> first = generate(42);
+        List<WorkloadItem> second = generate(42);
+
+        assertEquals(first.size(), second.size());
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getLabel(), second.get(i).getLabel());
+            assertEquals(first.get(i).getBody(), second.get(i).getBody());
+        }
+    }
+
+    @Test
+    void differentSeedsGenerateDifferentWorkloads() throws Exception {
+        List<String> first = generate(1).stream().map(WorkloadItem::getBody).toList();
+        List<String> second = generate(2).stream().map(WorkloadItem::getBody).toList();
+
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void generatesEveryCombination() throws Exception {
+        List<WorkloadItem> items = generate(42);
+
+        // 2 sizes x 2 densities x 3 variants x 2 algorithms
+        assertEquals(24, items.size());
+        assertEquals(3, items.stream().filter(item -> item.getLabel().equals("bfs 5x8 @0.2")).count());
+
+        PathfindingRequest request = objectMapper.readValue(items.get(0).getBody(), PathfindingRequest.class);
+        String[][] grid = request.getGrid();
+        assertEquals("start", grid[request.getStart().getRow()][request.getStart().getCol()]);
+        assertTrue(List.of("end", "start").contains(grid[request.getEnd().getRow()][request.getEnd().getCol()]));
+    }
+
+    @Test
+    void uniqueWorkloadIsReproducibleAndNeverRepeatsAGrid() throws Exception {
+        List<String> labels = generator.uniqueLabels(List.of("5x8", "10x10"), List.of(0.2, 0.4), List.of("bfs", "astar"));
+        assertEquals(8, labels.size());
+
+        Set<String> grids = new HashSet<>();
+        for (int i = 0; i < 40; i++) {
+            WorkloadItem item = unique(42, i);
+            assertEquals(labels.get(i % labels.size()), item.getLabel());
+            assertEquals(item.getBody(), unique(42, i).getBody());
+
+            PathfindingRequest request = objectMapper.readValue(item.getBody(), PathfindingRequest.class);
+            assertTrue(grids.add(Arrays.deepToString(request.getGrid())), "grid repeated at request " + i);
+        }
+        assertNotEquals(unique(1, 0).getBody(), unique(2, 0).getBody());
+    }
+
+    @Test
+    void rejectsMalformedSize() {
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.generate(List.of("10"), List.of(0.1), List.of("bfs"), 1, 1));
+    }
+
+    @Test
+    void replaysRequestsFromFile(@TempDir Path directory) throws Exception {
+        Path file = directory.resolve("requests.jsonl");
+        String body = "{\"grid\":[[\"start\",\"end\"]],\"start\":{\"row\":0,\"col\":0},"
+                + "\"end\":{\"row\":0,\"col\":1},\"algorithm\":\"astar\"}";
+        Files.writeString(file, body + "\n\n" + body + "\n");
+
+        List<WorkloadItem> items = generator.replay(file);
+
+        assertEquals(2, items.size());
+        assertEquals("astar 1x2", items.get(0).getLabel());
+        assertEquals(body, items.get(0).getBody());
+    }
+
+    private WorkloadItem unique(long seed, int index) throws Exception {
+        return generator.unique(List.of("5x8", "10x10"), List.of(0.2, 0.4), List.of("bfs", "astar"), seed, index);
+    }
+
+    private List<WorkloadItem> generate(long seed) throws Exception {
+        return generator.generate(List.of("5x8", "10x10"), List.of(0.2, 0.4), List.of("bfs", "astar"), 3, seed);
+    }
+}
@@ -0,0 +1,106 @@
+package com.pathfinding.service;
+
+import com.pathfinding.model.GridIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static com.pathfinding.service.GridSnapshotStoreTest.grid;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridIndexServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void gridSeenOnceStaysWallsOnlyAndIsNotPersisted() throws Exception {
+        GridSnapshotStore store = new GridSnapshotStore(directory.toString(), "true", 10);
+        GridIndexService service = new GridIndexService(store, 16, 2, 8, 0);
+
+        GridIndex index = service.indexFor(grid(0));
+        store.shutdown();
+
+        assertFalse(index.hasLabels());
+        assertTrue(index.isPassable(0, 0));
+        assertFalse(index.isPassable(1, 1));
+        assertFalse(Files.exists(snapshotFile(index)));
+    }
+
+    @Test
+    void repeatedGridGetsLabelsAndIsPersisted() throws Exception {
+        GridSnapshotStore store = new GridSnapshotStore(directory.toString(), "true", 10);
+        GridIndexService service = new GridIndexService(store, 16, 2, 8, 0);
+
+        service.indexFor(grid(0));
+        GridIndex index = service.indexFor(grid(0));
+        store.shutdown();
+
+        assertTrue(index.hasLabels());
+        assertTrue(Files.exists(snapshotFile(index)));
+    }
+
+    @Test
+    void warmUpMapsOnlyMostRecentSnapshots() throws IOException {
+        GridSnapshotStore writer = new GridSnapshotStore(directory.toString(), "true", 10);
+        long now = System.currentTimeMillis();
+        for (int variant = 0; variant < 3; variant++) {
+            GridIndex index = GridIndex.build(grid(variant));
+            writer.save(index);
+            Files.setLastModifiedTime(snapshotFile(index), FileTime.fromMillis(now - 1_000L * (3 - variant)));
+        }
+
+        GridIndexService service = new GridIndexService(
+                new GridSnapshotStore(directory.toString(), "true", 10), 16, 2, 2, 300_000);
+        assertEquals(2, service.warmUp());
+
+        // Warmed grids are answered with labels on first sight; the oldest is not
+        assertTrue(service.indexFor(grid(2)).hasLabels());
+        assertTrue(service.indexFor(grid(1)).hasLabels());
+        assertFalse(service.indexFor(grid(0)).hasLabels());
+    }
+
+    @Test
+    void cacheHitsRefreshSnapshotRecency() throws Exception {
+        GridSnapshotStore writer = new GridSnapshotStore(directory.toString(), "true", 10);
+        GridIndex index = GridIndex.build(grid(0));
+        writer.save(index);
+
+        GridSnapshotStore store = new GridSnapshotStore(directory.toString(), "true", 10);
+        GridIndexService service = new GridIndexService(store, 16, 2, 8, 0);
+        service.warmUp();
+
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 3_600_000);
+        Files.setLastModifiedTime(snapshotFile(index), old);
+        service.indexFor(grid(0));
+        store.shutdown();
+
+        assertTrue(Files.getLastModifiedTime(snapshotFile(index)).compareTo(old) > 0);
+    }
+
+    @Test
+    void cacheHitsWithinTouchIntervalDoNotRefreshRecency() throws Exception {
+        GridSnapshotStore writer = new GridSnapshotStore(directory.toString(), "true", 10);
+        GridIndex index = GridIndex.build(grid(0));
+        writer.save(index);
+
+        GridSnapshotStore store = new GridSnapshotStore(directory.toString(), "true", 10);
+        GridIndexService service = new GridIndexService(store, 16, 2, 8, 3_600_000);
+        service.warmUp();
+
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 60_000);
+        Files.setLastModifiedTime(snapshotFile(index), old);
+        service.indexFor(grid(0));
+        store.shutdown();
+
+        assertEquals(old, Files.getLastModifiedTime(snapshotFile(index)));
+    }
+
+    private Path snapshotFile(GridIndex index) {
+        return directory.resolve(String.format("%016x", index.getFingerprint()) + ".gidx");
+    }
+}
@@ -0,0 +1,167 @@
+package com.pathfinding.service;
+
+import com.pathfinding.model.GridIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GridSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void roundTripPreservesWallsAndLabels() {
+        GridSnapshotStore store = store(10);
+        GridIndex index = GridIndex.build(grid(0));
+        store.save(index);
+
+        GridIndex loaded = store.load(index.getFingerprint()).orElseThrow();
+
+        assertEquals(index.getRows(), loaded.getRows());
+        assertEquals(index.getCols(), loaded.getCols());
+        assertEquals(index.getWalls(), loaded.getWalls());
+        assertEquals(index.getLabels(), loaded.getLabels());
+        assertTrue(loaded.matches(index.getRows(), index.getCols(), GridIndex.wallBits(grid(0))));
+        assertFalse(loaded.isPassable(1, 1));
+        assertTrue(loaded.isConnected(0, 0, 4, 6));
+    }
+
+    @Test
+    void rejectsWrongMagic() throws IOException {
+        assertRejectedAfterCorrupting(buffer -> buffer.putInt(0, 0x12345678));
+    }
+
+    @Test
+    void rejectsWrongVersion() throws IOException {
+        assertRejectedAfterCorrupting(buffer -> buffer.putInt(4, 1));
+    }
+
+    @Test
+    void rejectsWrongFingerprint() throws IOException {
+        assertRejectedAfterCorrupting(buffer -> buffer.putLong(8, buffer.getLong(8) + 1));
+    }
+
+    @Test
+    void rejectsWrongSize() throws IOException {
+        GridSnapshotStore store = store(10);
+        GridIndex index = GridIndex.build(grid(0));
+        store.save(index);
+
+        Path file = snapshotFile(index);
+        Files.write(file, new byte[]{0, 0, 0, 0}, java.nio.file.StandardOpenOption.APPEND);
+
+        assertTrue(store.load(index.getFingerprint()).isEmpty());
+    }
+
+    @Test
+    void matchesRejectsCollidingFingerprintWithDifferentWalls() {
+        GridIndex index = GridIndex.build(grid(0));
+        long[] otherWalls = GridIndex.wallBits(grid(1));
+
+        // Same fingerprint and size, different wall layout
+        GridIndex colliding = new GridIndex(index.getFingerprint(), index.getRows(), index.getCols(),
+                LongBuffer.wrap(otherWalls), IntBuffer.allocate(index.getRows() * index.getCols()));
+
+        assertFalse(colliding.matches(index.getRows(), index.getCols(), GridIndex.wallBits(grid(0))));
+        assertTrue(index.matches(index.getRows(), index.getCols(), GridIndex.wallBits(grid(0))));
+        assertFalse(index.matches(index.getRows() + 1, index.getCols(), GridIndex.wallBits(grid(0))));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedSnapshotsBeyondLimit() throws IOException {
+        GridSnapshotStore store = store(2);
+        GridIndex first = GridIndex.build(grid(0));
+        GridIndex second = GridIndex.build(grid(1));
+        GridIndex third = GridIndex.build(grid(2));
+        store.save(first);
+        store.save(second);
+
+        // The older file was used more recently, so the newer one goes first
+        long now = System.currentTimeMillis();
+        Files.setLastModifiedTime(snapshotFile(first), FileTime.fromMillis(now - 1_000));
+        Files.setLastModifiedTime(snapshotFile(second), FileTime.fromMillis(now - 2_000));
+        store.save(third);
+
+        assertTrue(Files.exists(snapshotFile(first)));
+        assertFalse(Files.exists(snapshotFile(second)));
+        assertTrue(Files.exists(snapshotFile(third)));
+    }
+
+    @Test
+    void recentFingerprintsAreMostRecentFirst() throws IOException {
+        GridSnapshotStore store = store(10);
+        long now = System.currentTimeMillis();
+        for (int variant = 0; variant < 3; variant++) {
+            GridIndex index = GridIndex.build(grid(variant));
+            store.save(index);
+            Files.setLastModifiedTime(snapshotFile(index), FileTime.fromMillis(now - 1_000L * (3 - variant)));
+        }
+
+        assertEquals(List.of(GridIndex.build(grid(2)).getFingerprint(), GridIndex.build(grid(1)).getFingerprint()),
+                store.recentFingerprints(2));
+    }
+
+    @Test
+    void leavesNoTempFilesBehind() throws IOException {
+        GridSnapshotStore store = store(10);
+        store.save(GridIndex.build(grid(0)));
+
+        try (var files = Files.list(directory)) {
+            assertTrue(files.allMatch(file -> file.toString().endsWith(".gidx")));
+        }
+    }
+
+    @Test
+    void enablingWithoutDirectoryFails() {
+        assertThrows(IllegalStateException.class, () -> new GridSnapshotStore("", "true", 10));
+        assertFalse(new GridSnapshotStore("", "", 10).isEnabled());
+        assertTrue(new GridSnapshotStore(directory.toString(), "", 10).isEnabled());
+    }
+
+    private void assertRejectedAfterCorrupting(java.util.function.Consumer<ByteBuffer> corruption) throws IOException {
+        GridSnapshotStore store = store(10);
+        GridIndex index = GridIndex.build(grid(0));
+        store.save(index);
+        assertTrue(store.load(index.getFingerprint()).isPresent());
+
+        Path file = snapshotFile(index);
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        corruption.accept(buffer);
+        Files.write(file, buffer.array());
+
+        assertTrue(store.load(index.getFingerprint()).isEmpty());
+    }
+
+    private GridSnapshotStore store(int maxFiles) {
+        return new GridSnapshotStore(directory.toString(), "true", maxFiles);
+    }
+
+    private Path snapshotFile(GridIndex index) {
+        return directory.resolve(String.format("%016x", index.getFingerprint()) + ".gidx");
+    }
+
+    /**
+     * A 5x7 grid with a wall at (1, 1) and one variant-dependent wall on the last row.
+     */
+    static String[][] grid(int variant) {
+        String[][] grid = new String[5][7];
+        for (String[] row : grid) {
+            java.util.Arrays.fill(row, "empty");
+        }
+        grid[1][1] = "wall";
+        grid[4][variant] = "wall";
+        return grid;
+    }
+}